@@ -0,0 +1,111 @@
+package com.yoanesber.backend.jwt_auth_demo.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtConfig;
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKeyMaterial;
+import com.yoanesber.backend.jwt_auth_demo.entity.EUserType;
+import com.yoanesber.backend.jwt_auth_demo.entity.JwtClaim;
+import com.yoanesber.backend.jwt_auth_demo.entity.Role;
+import com.yoanesber.backend.jwt_auth_demo.entity.User;
+
+/**
+ * BenchmarkSupport initializes the static JWT configuration and key material outside of a Spring context,
+ * using the same property values as the README, so the benchmarks exercise the real JwtUtil code paths.
+ * JwtUtil reads its configuration once when the class is initialized, so this must run before JwtUtil is touched;
+ * JMH runs every parameter combination in its own fork, which keeps the HMAC, RSA and EC runs apart.
+ */
+public final class BenchmarkSupport {
+    public static final String HEADER = "Authorization";
+    public static final String TOKEN_TYPE = "Bearer";
+    public static final String COOKIE_NAME = "accessToken";
+    public static final String HMAC_SECRET = "a-string-secret-at-least-256-bits-long";
+
+    private BenchmarkSupport() {
+    }
+
+    // Initialize JwtConfig and JwtKeyMaterial for the given key algorithm and return the key directory used
+    public static Path initJwt(String keyAlgorithm) throws Exception {
+        return initJwt(keyAlgorithm, false, 0L);
+    }
+
+    public static Path initJwt(String keyAlgorithm, boolean claimsTrusted, long maxTokenAgeMs) throws Exception {
+        Path keyDirectory = Files.createTempDirectory("jwt-benchmark-keys");
+        Path privateKeyFile = keyDirectory.resolve("privateKey.pem");
+        Path publicKeyFile = keyDirectory.resolve("publicKey.pem");
+
+        if ("RSA".equalsIgnoreCase(keyAlgorithm)) {
+            writeKeyPair("RSA", 2048, privateKeyFile, publicKeyFile);
+        } else if ("EC".equalsIgnoreCase(keyAlgorithm)) {
+            writeKeyPair("EC", 256, privateKeyFile, publicKeyFile);
+        }
+
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "cookieHttpOnly", true);
+        ReflectionTestUtils.setField(jwtConfig, "cookieMaxAgeMs", 86400000L);
+        ReflectionTestUtils.setField(jwtConfig, "cookiePath", "/api");
+        ReflectionTestUtils.setField(jwtConfig, "cookieSameSite", "Lax");
+        ReflectionTestUtils.setField(jwtConfig, "cookieSecure", true);
+        ReflectionTestUtils.setField(jwtConfig, "cookieResponseEnabled", true);
+        ReflectionTestUtils.setField(jwtConfig, "header", HEADER);
+        ReflectionTestUtils.setField(jwtConfig, "issuer", "http://localhost:8080/auth/login");
+        ReflectionTestUtils.setField(jwtConfig, "keyAlgorithm", keyAlgorithm);
+        ReflectionTestUtils.setField(jwtConfig, "keySecret", HMAC_SECRET);
+        ReflectionTestUtils.setField(jwtConfig, "privateKeyFile", privateKeyFile.toString());
+        ReflectionTestUtils.setField(jwtConfig, "publicKeyFile", publicKeyFile.toString());
+        ReflectionTestUtils.setField(jwtConfig, "tokenType", TOKEN_TYPE);
+        ReflectionTestUtils.setField(jwtConfig, "expirationMs", 900000L);
+        ReflectionTestUtils.setField(jwtConfig, "cookieName", COOKIE_NAME);
+        ReflectionTestUtils.setField(jwtConfig, "claimsTrustedEnabled", claimsTrusted);
+        ReflectionTestUtils.setField(jwtConfig, "claimsTrustedMaxTokenAgeMs", maxTokenAgeMs);
+        jwtConfig.init();
+
+        new JwtKeyMaterial(jwtConfig).init();
+        return keyDirectory;
+    }
+
+    public static User sampleUser() {
+        User user = new User();
+        user.setId(2L);
+        user.setUserName("userone");
+        user.setPassword("$2a$10$7QJ8u6Zb0oS6Yc1bX9bQ0uQ2z1p8m3mYkU9nQe8cYxM6hV8bJr1yW");
+        user.setEmail("userone@youremail.com");
+        user.setFirstName("User");
+        user.setLastName("One");
+        user.setEnabled(true);
+        user.setAccountNonExpired(true);
+        user.setAccountNonLocked(true);
+        user.setCredentialsNonExpired(true);
+        user.setUserType(EUserType.USER_ACCOUNT);
+        user.setRoles(List.of(new Role("ROLE_USER")));
+        return user;
+    }
+
+    public static JwtClaim sampleClaim() {
+        return new JwtClaim(sampleUser());
+    }
+
+    // Generate an RSA (2048-bit) or EC (P-256) key pair like the key generation scripts
+    private static void writeKeyPair(String algorithm, int keySize, Path privateKeyFile, Path publicKeyFile)
+        throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        generator.initialize(keySize);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        writePem(privateKeyFile, "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        writePem(publicKeyFile, "PUBLIC KEY", keyPair.getPublic().getEncoded());
+    }
+
+    private static void writePem(Path file, String type, byte[] encoded) throws IOException {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(encoded);
+        Files.writeString(file, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+    }
+}
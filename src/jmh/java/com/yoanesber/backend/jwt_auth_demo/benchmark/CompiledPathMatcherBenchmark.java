@@ -0,0 +1,103 @@
+package com.yoanesber.backend.jwt_auth_demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.AntPathMatcher;
+
+import com.yoanesber.backend.jwt_auth_demo.config.security.CompiledPathMatcher;
+
+/**
+ * CompiledPathMatcherBenchmark measures the excluded-path check of JwtAuthFilter for 10 to 1000 patterns:
+ * the compiled matcher against the previous startsWith scan over the list and against an AntPathMatcher
+ * evaluated pattern by pattern (as a list of Ant request matchers would be).
+ * Half of the patterns are literal paths, the others end with "/**" or contain a "*" segment;
+ * the hit matches the last "*" pattern and the miss (a protected API path, the common case) matches none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompiledPathMatcherBenchmark {
+    private static final String MISS_PATH = "/api/v1/netflix-shows/42";
+
+    @Param({"10", "100", "1000"})
+    public int patternCount;
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private List<String> patterns;
+    private CompiledPathMatcher matcher;
+    private String hitPath;
+
+    @Setup
+    public void setup() {
+        patterns = new ArrayList<>(patternCount);
+        for (int i = 0; i < patternCount; i++) {
+            patterns.add(switch (i % 4) {
+                case 0, 1 -> "/api/v1/module" + i + "/public";
+                case 2 -> "/api/v1/module" + i + "/static/**";
+                default -> "/api/v1/module" + i + "/*/docs";
+            });
+        }
+        matcher = new CompiledPathMatcher(patterns);
+
+        // The last pattern with a "*" segment
+        int last = patternCount - 1;
+        while (last % 4 != 3) {
+            last--;
+        }
+        hitPath = "/api/v1/module" + last + "/a/docs";
+        if (!matcher.matches(hitPath) || matcher.matches(MISS_PATH)) {
+            throw new IllegalStateException("Unexpected match result for " + patterns.get(last));
+        }
+    }
+
+    @Benchmark
+    public boolean compiledHit() {
+        return matcher.matches(hitPath);
+    }
+
+    @Benchmark
+    public boolean compiledMiss() {
+        return matcher.matches(MISS_PATH);
+    }
+
+    // Previous behaviour of JwtAuthFilter.shouldNotFilter
+    @Benchmark
+    public boolean legacyStartsWithMiss() {
+        return patterns.stream().anyMatch(MISS_PATH::startsWith);
+    }
+
+    @Benchmark
+    public boolean antPathMatcherHit() {
+        for (String pattern : patterns) {
+            if (antPathMatcher.match(pattern, hitPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean antPathMatcherMiss() {
+        for (String pattern : patterns) {
+            if (antPathMatcher.match(pattern, MISS_PATH)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,99 @@
+package com.yoanesber.backend.jwt_auth_demo.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import com.yoanesber.backend.jwt_auth_demo.cache.CorsDecisionCache;
+import com.yoanesber.backend.jwt_auth_demo.config.security.CompiledPathMatcher;
+import com.yoanesber.backend.jwt_auth_demo.config.security.cors.CorsFilter;
+import com.yoanesber.backend.jwt_auth_demo.config.security.cors.CustomCorsProcessor;
+
+/**
+ * CorsFilterBenchmark measures CorsFilter for a simple request and a preflight request from an allowed origin,
+ * with the decision cache enabled and disabled (URI parsing and CustomCorsProcessor on every request).
+ * The allowed origin is the last of originCount configured origins, so the uncached path scans the whole list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorsFilterBenchmark {
+    @Param({"true", "false"})
+    private boolean cached;
+
+    @Param({"3", "50"})
+    private int originCount;
+
+    private final FilterChain chain = (request, response) -> { };
+    private CorsFilter filter;
+    private String origin;
+
+    @Setup
+    public void setup() {
+        String[] origins = new String[originCount];
+        for (int i = 0; i < originCount; i++) {
+            origins[i] = "https://app" + i + ".example.com";
+        }
+        origin = origins[originCount - 1];
+
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of(origins));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "If-Match", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("Authorization", "Content-Length", "ETag"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+
+        CorsDecisionCache decisionCache = new CorsDecisionCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(decisionCache, "enabled", cached);
+        ReflectionTestUtils.setField(decisionCache, "maximumSize", 1000L);
+        ReflectionTestUtils.setField(decisionCache, "maxKeyLength", 512);
+        decisionCache.init();
+
+        filter = new CorsFilter(source, new CustomCorsProcessor(), decisionCache, new CompiledPathMatcher(List.of()));
+    }
+
+    @Benchmark
+    public int simpleRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/netflix-shows");
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int preFlightRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/v1/netflix-shows");
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH");
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "authorization,if-match");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,128 @@
+package com.yoanesber.backend.jwt_auth_demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.yoanesber.backend.jwt_auth_demo.dto.HttpResponseDTO;
+import com.yoanesber.backend.jwt_auth_demo.util.ErrorResponseWriter;
+import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
+
+/**
+ * ErrorResponseBenchmark compares the 401 response of JwtAuthFilter written from pre-encoded templates
+ * with the previous Jackson path (a new HttpResponseDTO serialized through the response writer).
+ * The encode benchmarks leave out the servlet response; run with -prof gc to compare the allocation per response.
+ * The servlet response writes byte arrays in bulk like the container does (the mock output stream writes byte by byte).
+ * The setup checks that both paths produce the same bytes for the same timestamp.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseBenchmark {
+    private static final String MESSAGE = "Unauthorized request";
+    private static final String ERROR = "JWT token is missing or invalid";
+    private static final String PATH = "/api/v1/netflix-shows/1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() throws Exception {
+        request = new MockHttpServletRequest("GET", PATH);
+
+        for (Instant timestamp : new Instant[] {
+            Instant.parse("2025-05-28T15:43:40Z"),
+            Instant.parse("2025-05-28T15:43:40.840Z"),
+            Instant.parse("2025-05-28T15:43:40.840925Z"),
+            Instant.parse("2025-05-28T15:43:40.840925500Z")
+        }) {
+            HttpResponseDTO dto = new HttpResponseDTO(MESSAGE, ERROR, PATH, HttpStatus.UNAUTHORIZED.value(), null);
+            dto.setTimestamp(timestamp);
+            byte[] expected = objectMapper.writeValueAsBytes(dto);
+            byte[] actual = ErrorResponseWriter.encode(HttpStatus.UNAUTHORIZED, MESSAGE, ERROR, PATH, timestamp);
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("Pre-encoded response differs from Jackson: " + new String(actual));
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return ErrorResponseWriter.encode(HttpStatus.UNAUTHORIZED, MESSAGE, ERROR, PATH, Instant.now());
+    }
+
+    @Benchmark
+    public byte[] legacyEncode() throws Exception {
+        return objectMapper.writeValueAsBytes(
+            new HttpResponseDTO(MESSAGE, ERROR, PATH, HttpStatus.UNAUTHORIZED.value(), null));
+    }
+
+    @Benchmark
+    public int buildResponse() throws Exception {
+        BenchmarkResponse response = new BenchmarkResponse();
+        ResponseUtil.buildResponse(request, response, HttpStatus.UNAUTHORIZED, MESSAGE, ERROR, null);
+        return response.body.size();
+    }
+
+    // Previous behaviour of ResponseUtil.buildResponse
+    @Benchmark
+    public int legacyBuildResponse() throws Exception {
+        BenchmarkResponse response = new BenchmarkResponse();
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(),
+            new HttpResponseDTO(MESSAGE, ERROR, request.getRequestURI(), HttpStatus.UNAUTHORIZED.value(), null));
+        return response.getContentAsByteArray().length;
+    }
+
+    // Mock response whose output stream writes byte arrays in one call
+    static class BenchmarkResponse extends MockHttpServletResponse {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                }
+            };
+        }
+    }
+}
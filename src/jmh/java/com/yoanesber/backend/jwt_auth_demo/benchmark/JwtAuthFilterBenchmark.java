@@ -0,0 +1,135 @@
+package com.yoanesber.backend.jwt_auth_demo.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.yoanesber.backend.jwt_auth_demo.cache.RevokedTokenCache;
+import com.yoanesber.backend.jwt_auth_demo.cache.VerifiedTokenCache;
+import com.yoanesber.backend.jwt_auth_demo.config.security.CompiledPathMatcher;
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtAuthFilter;
+import com.yoanesber.backend.jwt_auth_demo.entity.CustomUserDetails;
+import com.yoanesber.backend.jwt_auth_demo.util.JwtUtil;
+
+/**
+ * JwtAuthFilterBenchmark measures the full JwtAuthFilter.doFilterInternal path against mock servlet requests:
+ * an authenticated request with a valid token, a request without a token (401) and a request to an excluded path.
+ * The user lookup is a stub returning a fixed user, so the numbers cover the filter itself rather than the database.
+ * With tokenCache the valid token is verified once and then served from the VerifiedTokenCache. The revocation
+ * list holds REVOKED_TOKENS other tokens, so the valid token is checked against a populated Bloom filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+    private static final int REVOKED_TOKENS = 10000;
+
+    @Param({"HMAC", "RSA", "EC"})
+    public String keyAlgorithm;
+
+    @Param({"false", "true"})
+    public boolean claimsTrusted;
+
+    @Param({"false", "true"})
+    public boolean tokenCache;
+
+    private BenchmarkJwtAuthFilter filter;
+    private FilterChain filterChain;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkSupport.initJwt(keyAlgorithm, claimsTrusted, 0L);
+        token = JwtUtil.generateJwtToken(BenchmarkSupport.sampleClaim());
+
+        CustomUserDetails userDetails = CustomUserDetails.build(BenchmarkSupport.sampleUser());
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(verifiedTokenCache, "enabled", tokenCache);
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxMemoryBytes", 33554432L);
+        ReflectionTestUtils.setField(verifiedTokenCache, "ttlMs", 900000L);
+        verifiedTokenCache.init();
+
+        RevokedTokenCache revokedTokenCache = new RevokedTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(revokedTokenCache, "expectedInsertions", 100000L);
+        ReflectionTestUtils.setField(revokedTokenCache, "falsePositiveRate", 0.01);
+        revokedTokenCache.init();
+        long expiresAtMs = System.currentTimeMillis() + 900000L;
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            revokedTokenCache.add(UUID.randomUUID().toString(), expiresAtMs);
+        }
+
+        filter = new BenchmarkJwtAuthFilter(userDetails,
+            new CompiledPathMatcher(List.of("/api/v1/auth/login", "/api/v1/auth/refresh-token")),
+            verifiedTokenCache, revokedTokenCache);
+        filterChain = (request, response) -> { };
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/netflix-shows/1");
+        request.setServletPath("/api/v1/netflix-shows/1");
+        request.addHeader(BenchmarkSupport.HEADER, BenchmarkSupport.TOKEN_TYPE + " " + token);
+        return run(request);
+    }
+
+    @Benchmark
+    public int missingTokenRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/netflix-shows/1");
+        request.setServletPath("/api/v1/netflix-shows/1");
+        return run(request);
+    }
+
+    @Benchmark
+    public int excludedPathRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/login");
+        request.setServletPath("/api/v1/auth/login");
+        return run(request);
+    }
+
+    private int run(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.filter(request, response, filterChain);
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Exposes the protected doFilterInternal so that it can be called without the OncePerRequestFilter bookkeeping
+    static class BenchmarkJwtAuthFilter extends JwtAuthFilter {
+        BenchmarkJwtAuthFilter(CustomUserDetails userDetails, CompiledPathMatcher excludedPathMatcher,
+            VerifiedTokenCache verifiedTokenCache, RevokedTokenCache revokedTokenCache) {
+            super(userName -> userDetails, excludedPathMatcher, verifiedTokenCache, revokedTokenCache);
+        }
+
+        void filter(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+            doFilterInternal(request, response, filterChain);
+        }
+    }
+}
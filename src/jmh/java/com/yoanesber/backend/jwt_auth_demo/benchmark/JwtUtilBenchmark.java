@@ -0,0 +1,123 @@
+package com.yoanesber.backend.jwt_auth_demo.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.Cookie;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.yoanesber.backend.jwt_auth_demo.entity.JwtClaim;
+import com.yoanesber.backend.jwt_auth_demo.entity.VerifiedJwtClaim;
+import com.yoanesber.backend.jwt_auth_demo.util.JwtUtil;
+
+/**
+ * JwtUtilBenchmark measures the per-request JwtUtil operations in HMAC (HS256), RSA (RS256) and EC (ES256) mode:
+ * signing, verification, subject extraction and token extraction from the header and cookies.
+ * The size of the signed sample token is printed by the setup of each fork.
+ * The legacy benchmarks reproduce the previous per-call key loading (file read, regex, Base64, KeyFactory)
+ * and parser construction, so the gain of the cached key material and shared parser can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    @Param({"HMAC", "RSA", "EC"})
+    public String keyAlgorithm;
+
+    private Path publicKeyFile;
+    private JwtClaim claim;
+    private String token;
+    private MockHttpServletRequest headerRequest;
+    private MockHttpServletRequest cookieRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        Path keyDirectory = BenchmarkSupport.initJwt(keyAlgorithm);
+        publicKeyFile = keyDirectory.resolve("publicKey.pem");
+
+        claim = BenchmarkSupport.sampleClaim();
+        token = JwtUtil.generateJwtToken(claim);
+        System.out.println("Token size (" + keyAlgorithm + "): " + token.length() + " bytes");
+
+        headerRequest = new MockHttpServletRequest("GET", "/api/v1/netflix-shows");
+        headerRequest.addHeader(BenchmarkSupport.HEADER, BenchmarkSupport.TOKEN_TYPE + " " + token);
+
+        cookieRequest = new MockHttpServletRequest("GET", "/api/v1/netflix-shows");
+        cookieRequest.setCookies(new Cookie("JSESSIONID", "abc"), new Cookie(BenchmarkSupport.COOKIE_NAME, token));
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return JwtUtil.generateJwtToken(claim);
+    }
+
+    @Benchmark
+    public VerifiedJwtClaim verifyToken() {
+        return JwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return JwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromToken() {
+        return JwtUtil.getUserNameFromToken(token);
+    }
+
+    @Benchmark
+    public String getJwtFromHeader() {
+        return JwtUtil.getJwtFromHeader(headerRequest);
+    }
+
+    @Benchmark
+    public String getJwtFromCookies() {
+        return JwtUtil.getJwtFromCookies(cookieRequest);
+    }
+
+    // Previous behaviour: load the key and build a new parser for every verification
+    @Benchmark
+    public String legacyGetUserNameFromToken() throws Exception {
+        if ("RSA".equalsIgnoreCase(keyAlgorithm) || "EC".equalsIgnoreCase(keyAlgorithm)) {
+            String key = Files.readString(publicKeyFile)
+                .replaceAll("-----\\w+ PUBLIC KEY-----", "")
+                .replaceAll("\\s+", "");
+            X509EncodedKeySpec spec = new X509EncodedKeySpec(Base64.getDecoder().decode(key));
+            return Jwts.parserBuilder()
+                .setSigningKey(KeyFactory.getInstance(keyAlgorithm.toUpperCase()).generatePublic(spec))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+        }
+
+        return Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(BenchmarkSupport.HMAC_SECRET.getBytes(StandardCharsets.UTF_8)))
+            .build()
+            .parseClaimsJws(token)
+            .getBody()
+            .getSubject();
+    }
+}
@@ -0,0 +1,80 @@
+package com.yoanesber.backend.jwt_auth_demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.yoanesber.backend.jwt_auth_demo.config.security.cors.CorsDecision;
+
+/**
+ * CorsDecisionCache is a bounded cache of CORS decisions keyed by configuration, origin, method and
+ * (for preflight requests) requested headers, so repeated origins skip the URI parsing and the allowed-list scans.
+ * The CORS configuration does not change at runtime, so entries only leave the cache when it is full.
+ * Hit, miss and eviction counters are published to Micrometer under the cache name "corsDecisions".
+ */
+@Component
+public class CorsDecisionCache {
+    private static final String CACHE_NAME = "corsDecisions";
+
+    private static final Set<String> STANDARD_METHODS =
+        Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cors-decision-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cors-decision-cache.maximum-size:1000}")
+    private long maximumSize;
+
+    // Longer origins or requested-header lists are not cached, so that a client cannot fill the cache with large keys
+    @Value("${cors-decision-cache.max-key-length:512}")
+    private int maxKeyLength;
+
+    private Cache<CorsDecision.Key, CorsDecision> cache;
+
+    public CorsDecisionCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // True if a decision for the origin, method and requested headers may be cached. The method is client-supplied
+    // in a preflight, so only the standard methods are cached and any other is left to the processor
+    public boolean isCacheable(String origin, String method, String requestHeaders) {
+        return enabled && origin.length() <= maxKeyLength &&
+            method != null && STANDARD_METHODS.contains(method) &&
+            (requestHeaders == null || requestHeaders.length() <= maxKeyLength);
+    }
+
+    // Get the cached decision or compute and cache it
+    public CorsDecision get(CorsDecision.Key key) {
+        return cache.get(key, CorsDecision::of);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
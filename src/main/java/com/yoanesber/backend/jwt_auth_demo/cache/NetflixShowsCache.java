@@ -0,0 +1,145 @@
+package com.yoanesber.backend.jwt_auth_demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsDTO;
+
+/**
+ * NetflixShowsCache is a bounded read-through cache of NetflixShowsDTO keyed by id.
+ * Misses are cached too (as an empty Optional) with a shorter TTL, so that repeated lookups of
+ * unknown or deleted ids do not reach the database. Writers update or evict entries after their
+ * transaction commits. Hit, miss and eviction counters are published to Micrometer under the cache name
+ * "netflixShows", and the time of each database load on a miss as the timer "netflix.shows.cache.load".
+ */
+@Component
+public class NetflixShowsCache {
+    private static final String CACHE_NAME = "netflixShows";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${netflix-shows-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${netflix-shows-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${netflix-shows-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${netflix-shows-cache.negative-ttl-ms:30000}")
+    private long negativeTtlMs;
+
+    private Cache<Long, Optional<NetflixShowsDTO>> cache;
+    private Timer loadTimer;
+
+    public NetflixShowsCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new Expiry<Long, Optional<NetflixShowsDTO>>() {
+                @Override
+                public long expireAfterCreate(Long id, Optional<NetflixShowsDTO> value, long currentTime) {
+                    return expiryNanos(value);
+                }
+
+                @Override
+                public long expireAfterUpdate(Long id, Optional<NetflixShowsDTO> value, long currentTime, 
+                    long currentDuration) {
+                    return expiryNanos(value);
+                }
+
+                @Override
+                public long expireAfterRead(Long id, Optional<NetflixShowsDTO> value, long currentTime, 
+                    long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+        // CaffeineCacheMetrics only publishes load meters for a LoadingCache, so loads are timed here
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        loadTimer = Timer.builder("netflix.shows.cache.load")
+            .description("Time to load a show on a cache miss")
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+    }
+
+    // Get the cached show or load it with the given loader, which returns null if the show does not exist
+    public NetflixShowsDTO get(Long id, Function<Long, NetflixShowsDTO> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+
+        return cache.get(id, key -> loadTimer.record(() -> Optional.ofNullable(loader.apply(key)))).orElse(null);
+    }
+
+    // Cache the new state of the show once the current transaction commits
+    public void put(NetflixShowsDTO netflixShowsDTO) {
+        if (!enabled || netflixShowsDTO == null || netflixShowsDTO.getId() == null) {
+            return;
+        }
+
+        afterCommit(() -> cache.put(netflixShowsDTO.getId(), Optional.of(netflixShowsDTO)));
+    }
+
+    // Remove the show from the cache now and again after the current transaction commits,
+    // so that a concurrent load cannot re-cache the state that is being replaced
+    public void evict(Long id) {
+        evict(List.of(id));
+    }
+
+    public void evict(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+        afterCommit(() -> cache.invalidateAll(ids));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private long expiryNanos(Optional<NetflixShowsDTO> value) {
+        return (value.isPresent() ? ttlMs : negativeTtlMs) * 1_000_000L;
+    }
+
+    // Run the action after the current transaction commits, or now if there is no transaction
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
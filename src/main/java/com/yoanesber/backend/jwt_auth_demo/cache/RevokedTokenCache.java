@@ -0,0 +1,112 @@
+package com.yoanesber.backend.jwt_auth_demo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.yoanesber.backend.jwt_auth_demo.util.BloomFilter;
+
+/**
+ * RevokedTokenCache is the in-memory list of revoked access tokens of this node, keyed by their jti claim.
+ * A Bloom filter sits in front of the map, so a token that is not revoked (nearly every request) is answered with
+ * a few bit probes and no map lookup. Entries are dropped once their token has expired, and the filter is then
+ * rebuilt from the remaining entries. The list is filled and persisted by TokenRevocationService.
+ */
+@Component
+public class RevokedTokenCache {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${revoked-token-cache.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${revoked-token-cache.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Expiration (epoch milliseconds) of each revoked token by its jti
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Writers hold the lock, so that a rebuilt filter never misses an entry added while it was being built
+    private final Object lock = new Object();
+    private volatile BloomFilter filter;
+    private long filterCapacity;
+
+    private Counter falsePositiveCounter;
+
+    public RevokedTokenCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        synchronized (lock) {
+            rebuild();
+        }
+
+        Gauge.builder("revoked.tokens", revoked, Map::size).register(meterRegistry);
+        Gauge.builder("revoked.tokens.bloom.bits", () -> filter.getBitCount()).register(meterRegistry);
+        falsePositiveCounter = meterRegistry.counter("revoked.tokens.bloom.false.positives");
+    }
+
+    // Check if the token with the given jti is revoked; tokens without a jti cannot be revoked
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+
+        falsePositiveCounter.increment();
+        return false;
+    }
+
+    // Add a revoked token until its expiration; returns false if it was already revoked
+    public boolean add(String tokenId, long expiresAtMs) {
+        synchronized (lock) {
+            if (revoked.putIfAbsent(tokenId, expiresAtMs) != null) {
+                return false;
+            }
+
+            // Grow the filter before it exceeds the size it was built for, as its false-positive rate climbs fast after
+            if (revoked.size() > filterCapacity) {
+                rebuild();
+            } else {
+                filter.put(tokenId);
+            }
+            return true;
+        }
+    }
+
+    // Drop the entries of expired tokens and rebuild the filter without them; returns the number dropped
+    public int removeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAtMs -> expiresAtMs <= now);
+            int removed = before - revoked.size();
+            if (removed > 0) {
+                rebuild();
+            }
+            return removed;
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Build a new filter from the current entries and swap it in (called with the lock held)
+    private void rebuild() {
+        long capacity = Math.max(expectedInsertions, 2L * revoked.size());
+        BloomFilter rebuilt = BloomFilter.create(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filterCapacity = capacity;
+        filter = rebuilt;
+    }
+}
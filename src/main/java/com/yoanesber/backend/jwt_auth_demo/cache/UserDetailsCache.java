@@ -0,0 +1,97 @@
+package com.yoanesber.backend.jwt_auth_demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yoanesber.backend.jwt_auth_demo.entity.CustomUserDetails;
+import com.yoanesber.backend.jwt_auth_demo.entity.User;
+
+/**
+ * UserDetailsCache is a bounded, TTL-evicting cache of CustomUserDetails keyed by username.
+ * It stores detached snapshots (plain User objects with their roles already copied) instead of
+ * Hibernate-managed entities, so a cached value never triggers lazy loading outside a session.
+ * Hit, miss and eviction counters are published to Micrometer under the cache name "userDetails".
+ */
+@Component
+public class UserDetailsCache {
+    private static final String CACHE_NAME = "userDetails";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-details-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user-details-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${user-details-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private Cache<String, CustomUserDetails> cache;
+
+    public UserDetailsCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Get the cached user details or load them with the given loader and cache a detached snapshot
+    public CustomUserDetails get(String userName, Function<String, CustomUserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(userName);
+        }
+
+        return cache.get(userName, key -> snapshot(loader.apply(key)));
+    }
+
+    // Remove the user from the cache now and again after the current transaction commits,
+    // so that a concurrent load cannot re-cache the state that is being replaced
+    public void evict(String userName) {
+        cache.invalidate(userName);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userName);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // Copy the user details into a detached User so that no Hibernate proxy or lazy collection is cached
+    private static CustomUserDetails snapshot(CustomUserDetails userDetails) {
+        return userDetails != null ? CustomUserDetails.build(new User(userDetails)) : null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.yoanesber.backend.jwt_auth_demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKey;
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKeyMaterial;
+import com.yoanesber.backend.jwt_auth_demo.entity.VerifiedJwtClaim;
+import com.yoanesber.backend.jwt_auth_demo.util.JwtUtil;
+
+/**
+ * VerifiedTokenCache keeps the claims of tokens whose signature has been verified, keyed by a SHA-256 digest of
+ * the raw token, so a token that is sent again is verified once per node instead of once per request.
+ * An entry expires at the token's exp (or after ttl-ms, if sooner), is only used with the keyring it was verified
+ * with, and the cache is bounded by an estimate of its memory use rather than by a number of entries.
+ * Hit, miss and eviction counters are published to Micrometer under the cache name "verifiedTokens".
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    // Estimated bytes of an entry besides its strings: key, entry, claim object, dates, role list and cache node
+    private static final int ENTRY_OVERHEAD_BYTES = 320;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${verified-token-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${verified-token-cache.max-memory-bytes:33554432}")
+    private long maxMemoryBytes;
+
+    @Value("${verified-token-cache.ttl-ms:900000}")
+    private long ttlMs;
+
+    private Cache<TokenDigest, Entry> cache;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxMemoryBytes)
+            .weigher((TokenDigest key, Entry entry) -> entry.weight())
+            .expireAfter(new TokenExpiry(TimeUnit.MILLISECONDS.toNanos(ttlMs)))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Get the claims of the token from the cache or verify the token and cache its claims (throws if it is invalid)
+    public VerifiedJwtClaim verify(String jwtToken) {
+        if (!enabled) {
+            return JwtUtil.verifyToken(jwtToken);
+        }
+
+        TokenDigest key = TokenDigest.of(jwtToken);
+        Map<String, JwtKey> keys = JwtKeyMaterial.getStaticVerificationKeys();
+
+        // An entry verified with a previous keyring is verified again, as its key may have been removed
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.keys() == keys && entry.expiresAtMs() > System.currentTimeMillis()) {
+            return entry.claim();
+        }
+
+        // Invalid tokens throw here and are never cached; tokens without an expiration are not cached either
+        VerifiedJwtClaim claim = JwtUtil.verifyToken(jwtToken);
+        Date expiration = claim.getExpiration();
+        if (expiration != null) {
+            cache.put(key, new Entry(claim, keys, expiration.getTime()));
+        }
+        return claim;
+    }
+
+    // Remove the token from the cache, e.g. when it is revoked
+    public void evict(String jwtToken) {
+        cache.invalidate(TokenDigest.of(jwtToken));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // The first 128 bits of the SHA-256 of the token; a cryptographic digest, so that no other token maps to
+    // the key of a verified one
+    private record TokenDigest(long high, long low) {
+        private static TokenDigest of(String jwtToken) {
+            try {
+                ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(jwtToken.getBytes(StandardCharsets.UTF_8)));
+                return new TokenDigest(digest.getLong(), digest.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+
+    private record Entry(VerifiedJwtClaim claim, Map<String, JwtKey> keys, long expiresAtMs) {
+        // Estimated memory use of the entry in bytes (two bytes per character, as an upper bound)
+        private int weight() {
+            long chars = length(claim.getTokenId()) + length(claim.getUserName()) + length(claim.getEmail()) + length(claim.getFirstName()) +
+                length(claim.getLastName()) + length(claim.getUserType()) + length(claim.getIssuer());
+            for (String role : claim.getRoles()) {
+                chars += length(role) + 16;
+            }
+            return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + 2 * chars);
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() + 24 : 0;
+        }
+    }
+
+    // Expire an entry at the token's expiration or after the ttl, whichever comes first; reads do not extend it
+    private record TokenExpiry(long ttlNanos) implements Expiry<TokenDigest, Entry> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, Entry entry, long currentTime) {
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(entry.expiresAtMs() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiration, ttlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
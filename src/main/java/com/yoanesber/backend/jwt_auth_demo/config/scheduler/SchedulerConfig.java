@@ -0,0 +1,32 @@
+package com.yoanesber.backend.jwt_auth_demo.config.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * SchedulerConfig enables Spring's scheduled task execution for the background jobs
+ * in the scheduler package (e.g., the batched last-login writer).
+ * The scheduler gets one thread per job by default, so that a long reaper or purge cycle
+ * does not delay the last-login flush or the revocation sync; change it with scheduler.pool-size.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+    // Last-login flush, revocation sync, revocation purge, refresh-token reaper and key reload
+    private static final int SCHEDULED_JOB_COUNT = 5;
+
+    @Value("${scheduler.pool-size:" + SCHEDULED_JOB_COUNT + "}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        // Replace Spring Boot's single-threaded default scheduler
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,242 @@
+package com.yoanesber.backend.jwt_auth_demo.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * CompiledPathMatcher matches request paths against Ant-style patterns compiled once into a trie of path segments.
+ * Literal segments are looked up in a hash table per node, "*" and "?" match within a segment and "**" matches
+ * any number of segments (including none), so the cost of a match depends on the depth of the path rather than
+ * on the number of patterns, and a match does not allocate.
+ * It backs both the permitAll rule of SecurityConfig and the excluded paths of JwtAuthFilter.
+ */
+public class CompiledPathMatcher implements RequestMatcher {
+    private final List<String> patterns;
+    private final Node root = new Node();
+
+    // Compile the patterns; blank entries are ignored and the others are trimmed
+    public CompiledPathMatcher(Collection<String> patterns) {
+        List<String> compiled = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isBlank()) {
+                continue;
+            }
+
+            String trimmed = pattern.trim();
+            add(trimmed);
+            compiled.add(trimmed);
+        }
+
+        this.patterns = List.copyOf(compiled);
+        root.freeze();
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    // Match the path of the request within the application (servlet path and path info)
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return matches(pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo);
+    }
+
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+
+        if (path.isEmpty()) {
+            path = "/";
+        }
+        return path.charAt(0) == '/' && match(root, path, 1);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledPathMatcher " + patterns;
+    }
+
+    private void add(String pattern) {
+        if (pattern.charAt(0) != '/') {
+            throw new IllegalArgumentException("Path pattern must start with '/': " + pattern);
+        }
+        if (pattern.indexOf('{') >= 0) {
+            throw new IllegalArgumentException("Path pattern variables are not supported: " + pattern);
+        }
+
+        Node node = root;
+        for (String segment : pattern.substring(1).split("/", -1)) {
+            if (segment.equals("**")) {
+                node = node.doubleStarChild();
+            } else if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+                node = node.globChild(segment);
+            } else {
+                node = node.literalChild(segment);
+            }
+        }
+        node.terminal = true;
+    }
+
+    // Match the rest of the path, starting with the segment at start (start > length when there are no more segments)
+    private static boolean match(Node node, String path, int start) {
+        // "**" skips any number of segments, including none
+        if (node.doubleStar != null) {
+            int next = start;
+            while (true) {
+                if (match(node.doubleStar, path, next)) {
+                    return true;
+                }
+                if (next > path.length()) {
+                    break;
+                }
+                int slash = path.indexOf('/', next);
+                next = slash < 0 ? path.length() + 1 : slash + 1;
+            }
+        }
+
+        if (start > path.length()) {
+            return node.terminal;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        Node literal = node.findLiteral(path, start, end);
+        if (literal != null && match(literal, path, end + 1)) {
+            return true;
+        }
+
+        // Wildcards never match an empty segment (as in "//")
+        for (int i = 0; end > start && i < node.globs.length; i++) {
+            if (globMatches(node.globs[i], path, start, end) && match(node.globNodes[i], path, end + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Match a segment pattern with "*" (any characters) and "?" (one character) against path[start, end)
+    private static boolean globMatches(String glob, String path, int start, int end) {
+        int g = 0;
+        int p = start;
+        int starGlob = -1;
+        int starPath = -1;
+
+        while (p < end) {
+            if (g < glob.length() && (glob.charAt(g) == '?' || glob.charAt(g) == path.charAt(p))) {
+                g++;
+                p++;
+            } else if (g < glob.length() && glob.charAt(g) == '*') {
+                starGlob = g++;
+                starPath = p;
+            } else if (starGlob >= 0) {
+                // Let the last "*" take one more character
+                g = starGlob + 1;
+                p = ++starPath;
+            } else {
+                return false;
+            }
+        }
+
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == glob.length();
+    }
+
+    // A node of the trie: the patterns that continue with a literal segment, a glob segment or "**"
+    private static final class Node {
+        private Map<String, Node> literalChildren = new LinkedHashMap<>();
+        private Map<String, Node> globChildren = new LinkedHashMap<>();
+        private Node doubleStar;
+        private boolean terminal;
+
+        // Open-addressing table of the literal children, keyed by the String hash of the segment
+        private String[] keys;
+        private int[] hashes;
+        private Node[] nodes;
+        private int mask;
+
+        private String[] globs;
+        private Node[] globNodes;
+
+        private Node literalChild(String segment) {
+            return literalChildren.computeIfAbsent(segment, s -> new Node());
+        }
+
+        private Node globChild(String segment) {
+            return globChildren.computeIfAbsent(segment, s -> new Node());
+        }
+
+        private Node doubleStarChild() {
+            if (doubleStar == null) {
+                doubleStar = new Node();
+            }
+            return doubleStar;
+        }
+
+        // Build the lookup tables of this node and its children
+        private void freeze() {
+            int capacity = Integer.highestOneBit(Math.max(2, literalChildren.size() * 2 - 1)) << 1;
+            keys = new String[capacity];
+            hashes = new int[capacity];
+            nodes = new Node[capacity];
+            mask = capacity - 1;
+
+            for (Map.Entry<String, Node> child : literalChildren.entrySet()) {
+                int hash = child.getKey().hashCode();
+                int index = spread(hash) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = child.getKey();
+                hashes[index] = hash;
+                nodes[index] = child.getValue();
+                child.getValue().freeze();
+            }
+
+            globs = globChildren.keySet().toArray(new String[0]);
+            globNodes = globChildren.values().toArray(new Node[0]);
+            for (Node globNode : globNodes) {
+                globNode.freeze();
+            }
+
+            if (doubleStar != null) {
+                doubleStar.freeze();
+            }
+
+            literalChildren = null;
+            globChildren = null;
+        }
+
+        // Find the literal child for path[start, end) without creating a substring
+        private Node findLiteral(String path, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+
+            int length = end - start;
+            for (int index = spread(hash) & mask; keys[index] != null; index = (index + 1) & mask) {
+                if (hashes[index] == hash && keys[index].length() == length &&
+                    path.regionMatches(start, keys[index], 0, length)) {
+                    return nodes[index];
+                }
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.yoanesber.backend.jwt_auth_demo.config.security;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,8 +17,12 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.*;
 
+import com.yoanesber.backend.jwt_auth_demo.cache.CorsDecisionCache;
+import com.yoanesber.backend.jwt_auth_demo.cache.RevokedTokenCache;
+import com.yoanesber.backend.jwt_auth_demo.cache.VerifiedTokenCache;
 import com.yoanesber.backend.jwt_auth_demo.config.security.cors.CorsFilter;
 import com.yoanesber.backend.jwt_auth_demo.config.security.cors.CustomCorsProcessor;
+import com.yoanesber.backend.jwt_auth_demo.controller.JwksController;
 import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtAuthFilter;
 import com.yoanesber.backend.jwt_auth_demo.handler.CustomAccessDeniedHandler;
 import com.yoanesber.backend.jwt_auth_demo.handler.CustomAuthExceptionHandler;
@@ -35,12 +40,20 @@ import com.yoanesber.backend.jwt_auth_demo.service.CustomUserDetailsService;
 jsr250Enabled = true, // jsr250Enabled = true to enable @RolesAllowed annotation
 prePostEnabled = false) // prePostEnabled = true to enable @PreAuthorize and @PostAuthorize annotations
 public class SecurityConfig {
+    private static final List<String> PUBLIC_PATHS = List.of(JwksController.JWKS_PATH);
+
     private final CustomAccessDeniedHandler accessDeniedHandler;
     private final CustomAuthExceptionHandler authExceptionHandler;
     private final CustomUserDetailsService customUserDetailsService;
+    private final CorsDecisionCache corsDecisionCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedTokenCache revokedTokenCache;
 
     @Value("#{'${permit-all-request-url}'.split(',')}")
-    private String[] permitAllRequestURL;
+    private List<String> permitAllRequestURL;
+
+    @Value("#{'${excluded-paths-for-authentication}'.split(',')}")
+    private List<String> excludedPathsForAuthentication;
 
     @Value("#{'${cors-allowed-origins}'.split(',')}")
     private List<String> corsAllowedOrigins;
@@ -65,10 +78,16 @@ public class SecurityConfig {
     
     public SecurityConfig(CustomAccessDeniedHandler accessDeniedHandler,
         CustomAuthExceptionHandler authExceptionHandler,
-        CustomUserDetailsService customUserDetailsService) {
+        CustomUserDetailsService customUserDetailsService,
+        CorsDecisionCache corsDecisionCache,
+        VerifiedTokenCache verifiedTokenCache,
+        RevokedTokenCache revokedTokenCache) {
         this.accessDeniedHandler = accessDeniedHandler;
         this.authExceptionHandler = authExceptionHandler;
         this.customUserDetailsService = customUserDetailsService;
+        this.corsDecisionCache = corsDecisionCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revokedTokenCache = revokedTokenCache;
     }
 
     private CorsConfigurationSource corsConfigurationSource() {
@@ -92,16 +111,38 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    // Paths that skip the JWT filter (the configured paths and the public paths); compiled once at startup
+    private CompiledPathMatcher excludedPathMatcher() {
+        List<String> patterns = new ArrayList<>(excludedPathsForAuthentication);
+        patterns.addAll(PUBLIC_PATHS);
+        return new CompiledPathMatcher(patterns);
+    }
+
+    // Public resources that are served to anyone, without authentication or CORS Origin checks
+    private CompiledPathMatcher publicPathMatcher() {
+        return new CompiledPathMatcher(PUBLIC_PATHS);
+    }
+
+    // Paths that are permitted without authentication: the permit-all paths and the paths that skip the JWT filter,
+    // so that a path excluded from the filter is never rejected for lack of authentication
+    private CompiledPathMatcher permitAllMatcher() {
+        List<String> patterns = new ArrayList<>(permitAllRequestURL);
+        patterns.addAll(excludedPathsForAuthentication);
+        patterns.addAll(PUBLIC_PATHS);
+        return new CompiledPathMatcher(patterns);
+    }
+
     @Bean
     public JwtAuthFilter jwtAuthFilter() {
-        // Create a new instance of JwtAuthFilter with the custom UserDetailsService
-        return new JwtAuthFilter(customUserDetailsService);
+        // Create a new instance of JwtAuthFilter with the custom UserDetailsService, the excluded paths,
+        // the verified-token cache and the revocation list
+        return new JwtAuthFilter(customUserDetailsService, excludedPathMatcher(), verifiedTokenCache, revokedTokenCache);
     }
 
     @Bean
     public CorsFilter corsFilter() {
-        // Create a new instance of CorsFilter with the CORS configuration source and processor
-        return new CorsFilter(corsConfigurationSource(), new CustomCorsProcessor());
+        // Create a new instance of CorsFilter with the CORS configuration source, processor, decision cache and public paths
+        return new CorsFilter(corsConfigurationSource(), new CustomCorsProcessor(), corsDecisionCache, publicPathMatcher());
     }
 
     @Bean
@@ -129,7 +170,7 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Set the session creation policy to stateless (no sessions)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers(permitAllRequestURL).permitAll()
+                .requestMatchers(permitAllMatcher()).permitAll()
                 .requestMatchers("/api/v1/netflix-shows/**").hasRole("USER") // Allow requests to the /api/v1/netflix-shows/** endpoint only for users with the USER role
                 .anyRequest().authenticated()) // Allow all requests to the permitAllRequestURL without authentication and require authentication for other requests
             .exceptionHandling(exception -> exception
@@ -0,0 +1,137 @@
+package com.yoanesber.backend.jwt_auth_demo.config.security.cors;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.cors.CorsConfiguration;
+
+/**
+ * CorsDecision is the outcome of the CORS checks for an origin, a request method and (for preflight requests)
+ * the requested headers under a CorsConfiguration, together with the CORS response headers of an allowed request.
+ * The checks are those of DefaultCorsProcessor and the header values are rendered once through HttpHeaders,
+ * so a cached decision answers a repeated origin exactly like the processor, without parsing or list scans.
+ */
+public final class CorsDecision {
+    public enum Outcome { ALLOWED, REJECTED, INVALID_SCHEME, INVALID_URL }
+
+    // What a decision depends on; the configuration is compared by identity
+    public record Key(CorsConfiguration config, String origin, String method, String requestHeaders, boolean preFlight) {
+    }
+
+    private final Outcome outcome;
+    private final String scheme;
+    private final String host;
+    private final int port;
+    private final String[] headerNames;
+    private final String[] headerValues;
+
+    private CorsDecision(Outcome outcome, URI origin, HttpHeaders headers) {
+        this.outcome = outcome;
+        this.scheme = origin != null ? origin.getScheme() : null;
+        this.host = origin != null ? origin.getHost() : null;
+        this.port = origin != null ? portOf(origin.getScheme(), origin.getPort()) : -1;
+
+        List<String> names = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.headerSet()) {
+                for (String value : header.getValue()) {
+                    names.add(header.getKey());
+                    values.add(value);
+                }
+            }
+        }
+        this.headerNames = names.toArray(new String[0]);
+        this.headerValues = values.toArray(new String[0]);
+    }
+
+    // Run the CORS checks for the key
+    public static CorsDecision of(Key key) {
+        URI origin;
+        try {
+            origin = new URI(key.origin());
+        } catch (URISyntaxException e) {
+            return new CorsDecision(Outcome.INVALID_URL, null, null);
+        }
+
+        String scheme = origin.getScheme();
+        if (scheme == null || (!scheme.equals("http") && !scheme.equals("https"))) {
+            return new CorsDecision(Outcome.INVALID_SCHEME, null, null);
+        }
+
+        CorsConfiguration config = key.config();
+        String allowOrigin = config.checkOrigin(key.origin());
+        List<HttpMethod> allowMethods = config.checkHttpMethod(HttpMethod.valueOf(key.method()));
+        List<String> allowHeaders = key.preFlight() ? config.checkHeaders(requestedHeaders(key.requestHeaders())) : null;
+
+        if (allowOrigin == null || allowMethods == null || (key.preFlight() && allowHeaders == null)) {
+            return new CorsDecision(Outcome.REJECTED, origin, null);
+        }
+
+        // The response headers of DefaultCorsProcessor, in the same order and format
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccessControlAllowOrigin(allowOrigin);
+        if (key.preFlight()) {
+            headers.setAccessControlAllowMethods(allowMethods);
+        }
+        if (key.preFlight() && !allowHeaders.isEmpty()) {
+            headers.setAccessControlAllowHeaders(allowHeaders);
+        }
+        if (!CollectionUtils.isEmpty(config.getExposedHeaders())) {
+            headers.setAccessControlExposeHeaders(config.getExposedHeaders());
+        }
+        if (Boolean.TRUE.equals(config.getAllowCredentials())) {
+            headers.setAccessControlAllowCredentials(true);
+        }
+        if (key.preFlight() && config.getMaxAge() != null) {
+            headers.setAccessControlMaxAge(config.getMaxAge());
+        }
+
+        return new CorsDecision(Outcome.ALLOWED, origin, headers);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    // A request from its own origin is not a CORS request (as in CorsUtils.isCorsRequest)
+    public boolean isSameOrigin(HttpServletRequest request) {
+        return scheme != null && host != null &&
+            scheme.equalsIgnoreCase(request.getScheme()) &&
+            host.equalsIgnoreCase(request.getServerName()) &&
+            port == portOf(request.getScheme(), request.getServerPort());
+    }
+
+    // Add the CORS response headers of an allowed request
+    public void applyHeaders(HttpServletResponse response) {
+        for (int i = 0; i < headerNames.length; i++) {
+            response.addHeader(headerNames[i], headerValues[i]);
+        }
+    }
+
+    private static List<String> requestedHeaders(String requestHeaders) {
+        List<String> headers = new ArrayList<>();
+        if (requestHeaders != null) {
+            for (String header : requestHeaders.split(",")) {
+                if (!header.isBlank()) {
+                    headers.add(header.trim());
+                }
+            }
+        }
+        return headers;
+    }
+
+    private static int portOf(String scheme, int port) {
+        if (port != -1) {
+            return port;
+        }
+        return "https".equalsIgnoreCase(scheme) ? 443 : 80;
+    }
+}
@@ -5,23 +5,37 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.net.URI;
+import java.net.URISyntaxException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.*;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.yoanesber.backend.jwt_auth_demo.cache.CorsDecisionCache;
+import com.yoanesber.backend.jwt_auth_demo.util.ErrorResponseWriter;
 import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
 
 public class CorsFilter extends OncePerRequestFilter {
     private final CorsConfigurationSource configSource;
     private final CorsProcessor processor;
+    private final CorsDecisionCache decisionCache;
+    private final RequestMatcher publicPathMatcher;
 
-    public CorsFilter(CorsConfigurationSource configSource, CorsProcessor processor) {
+    public CorsFilter(CorsConfigurationSource configSource, CorsProcessor processor, CorsDecisionCache decisionCache,
+        RequestMatcher publicPathMatcher) {
         this.configSource = configSource;
         this.processor = processor;
+        this.decisionCache = decisionCache;
+        this.publicPathMatcher = publicPathMatcher;
+    }
+
+    // Public resources (e.g. the JWKS) are fetched by other services without an Origin header
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPathMatcher.matches(request);
     }
 
     @Override
@@ -33,14 +47,27 @@ public class CorsFilter extends OncePerRequestFilter {
         // }
 
         String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin == null || origin.isBlank()) {
+            ResponseUtil.buildResponse(request, response, HttpStatus.FORBIDDEN, "Missing Origin",
+                    "CORS policy: The request does not have an Origin header.", null);
+            return;
+        }
 
-        try {
-            if (origin == null || origin.isBlank()) {
-                ResponseUtil.buildResponse(request, response, HttpStatus.FORBIDDEN, "Missing Origin",
-                        "CORS policy: The request does not have an Origin header.", null);
-                return;
-            }
+        CorsConfiguration config = this.configSource.getCorsConfiguration(request);
+        boolean preFlight = CorsUtils.isPreFlightRequest(request);
+        String requestHeaders = preFlight ? request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS) : null;
+
+        String method = preFlight ? request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD) : request.getMethod();
 
+        // Answer repeated origins from the decision cache; private network preflights are left to the processor
+        if (config != null && decisionCache.isCacheable(origin, method, requestHeaders) &&
+            !(preFlight && request.getHeader("Access-Control-Request-Private-Network") != null)) {
+            CorsDecision decision = decisionCache.get(new CorsDecision.Key(config, origin, method, requestHeaders, preFlight));
+            applyDecision(decision, preFlight, request, response, filterChain);
+            return;
+        }
+
+        try {
             URI parsed = new URI(origin);
             String scheme = parsed.getScheme();
             if (scheme == null || (!scheme.equals("http") && !scheme.equals("https"))) {
@@ -48,7 +75,7 @@ public class CorsFilter extends OncePerRequestFilter {
                         "CORS policy: Only HTTP and HTTPS protocols are allowed.", null);
                 return;
             }
-        } catch (MalformedURLException e) {
+        } catch (URISyntaxException e) {
             ResponseUtil.buildResponse(request, response, HttpStatus.FORBIDDEN, "Invalid Origin",
                     "CORS policy: The request's origin is not a valid URL.", null);
             return;
@@ -58,13 +85,12 @@ public class CorsFilter extends OncePerRequestFilter {
             return;
         }
 
-        CorsConfiguration config = this.configSource.getCorsConfiguration(request);
-
         try {
-            if (this.processor.processRequest(config, request, response)) {
+            // A valid preflight request is answered here, as it carries no credentials for the rest of the chain
+            if (this.processor.processRequest(config, request, response) && !(preFlight && CorsUtils.isCorsRequest(request))) {
                 filterChain.doFilter(request, response);
                 return;
-            } 
+            }
         } catch (AuthorizationDeniedException e) {
             ResponseUtil.buildResponse(request, response, HttpStatus.FORBIDDEN, "CORS Rejected",
                     "CORS policy: Access denied due to authorization failure.", null);
@@ -75,4 +101,49 @@ public class CorsFilter extends OncePerRequestFilter {
             return;
         }
     }
-}
\ No newline at end of file
+
+    // Apply a cached decision the way CustomCorsProcessor would
+    private void applyDecision(CorsDecision decision, boolean preFlight, HttpServletRequest request,
+        HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        switch (decision.getOutcome()) {
+            case INVALID_URL -> {
+                ResponseUtil.buildResponse(request, response, HttpStatus.FORBIDDEN, "Invalid Origin",
+                        "CORS policy: The request's origin is not a valid URL.", null);
+                return;
+            }
+            case INVALID_SCHEME -> {
+                ResponseUtil.buildResponse(request, response, HttpStatus.FORBIDDEN, "Invalid Origin",
+                        "CORS policy: Only HTTP and HTTPS protocols are allowed.", null);
+                return;
+            }
+            default -> {
+            }
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+        // Requests from the same origin are not CORS requests
+        if (decision.isSameOrigin(request) || response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN) != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (decision.getOutcome() == CorsDecision.Outcome.REJECTED) {
+            ErrorResponseWriter.write(response, HttpStatus.FORBIDDEN,
+                CustomCorsProcessor.REJECTED_MESSAGE, CustomCorsProcessor.REJECTED_ERROR);
+            return;
+        }
+
+        decision.applyHeaders(response);
+
+        // A valid preflight request is answered here, as it carries no credentials for the rest of the chain
+        if (preFlight) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
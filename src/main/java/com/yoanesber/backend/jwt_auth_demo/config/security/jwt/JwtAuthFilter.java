@@ -9,8 +9,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
-import org.springframework.beans.factory.annotation.Value;
+import java.util.Date;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -19,7 +18,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.yoanesber.backend.jwt_auth_demo.cache.RevokedTokenCache;
+import com.yoanesber.backend.jwt_auth_demo.cache.VerifiedTokenCache;
+import com.yoanesber.backend.jwt_auth_demo.config.security.CompiledPathMatcher;
 import com.yoanesber.backend.jwt_auth_demo.entity.CustomUserDetails;
+import com.yoanesber.backend.jwt_auth_demo.entity.VerifiedJwtClaim;
 import com.yoanesber.backend.jwt_auth_demo.service.CustomUserDetailsService;
 import com.yoanesber.backend.jwt_auth_demo.util.JwtUtil;
 import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
@@ -34,12 +37,16 @@ import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
 @Configuration
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final CustomUserDetailsService userDetailsServService;
+    private final CompiledPathMatcher excludedPathMatcher;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedTokenCache revokedTokenCache;
 
-    @Value("#{'${excluded-paths-for-authentication}'.split(',')}")
-    private List<String> excludedPaths;
-
-    public JwtAuthFilter(CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthFilter(CustomUserDetailsService customUserDetailsService, CompiledPathMatcher excludedPathMatcher,
+        VerifiedTokenCache verifiedTokenCache, RevokedTokenCache revokedTokenCache) {
         this.userDetailsServService = customUserDetailsService;
+        this.excludedPathMatcher = excludedPathMatcher;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revokedTokenCache = revokedTokenCache;
     }
 
     // Check if the JWT token is valid and set the user in the security context
@@ -47,13 +54,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
         FilterChain filterChain) throws ServletException, IOException {
 
-        // Check if the request method is POST and the Content-Type is not application/json
-        // If the Content-Type is not application/json, send an error response
+        // Check if the request method is POST, PUT or PATCH and the Content-Type is not application/json
+        // (or application/x-ndjson, which is accepted for bulk requests)
+        // If the Content-Type is not supported, send an error response
         String contentType = request.getContentType();
-        if ((request.getMethod().equals("POST") || request.getMethod().equals("PUT")) && 
-            (contentType == null || !contentType.equals(MediaType.APPLICATION_JSON_VALUE))) {
+        if ((request.getMethod().equals("POST") || request.getMethod().equals("PUT") || 
+            request.getMethod().equals("PATCH")) && 
+            (contentType == null || (!contentType.equals(MediaType.APPLICATION_JSON_VALUE) && 
+            !contentType.equals(MediaType.APPLICATION_NDJSON_VALUE)))) {
             ResponseUtil.buildResponse(request, response, HttpStatus.UNSUPPORTED_MEDIA_TYPE, 
-                "Unsupported Media Type", "Content-Type must be application/json", null);
+                "Unsupported Media Type", "Content-Type must be application/json or application/x-ndjson", null);
             return;
         }
 
@@ -83,21 +93,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             
             // Check if the JWT token is not null and has a valid format
             if (jwtToken != null && !jwtToken.isEmpty()) {
-                if (JwtUtil.validateToken(jwtToken)) {
-                    // Get the username from the JWT token
-                    String username = JwtUtil.getUserNameFromToken(jwtToken);
-
-                    // Load the user by its username
-                    CustomUserDetails userDetails = (CustomUserDetails) userDetailsServService.loadUserByUsername(username);
-                    // UserDetails userDetails = userDetailsServService.loadUserByUsername(username);
-
-                    // Set the user in the security context
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                } else {
-                    throw new RuntimeException("Invalid JWT token");
+                // Verify the JWT token once per node and get its claims (throws if the token is invalid)
+                VerifiedJwtClaim verifiedClaim = verifiedTokenCache.verify(jwtToken);
+
+                // Reject the token if it has been revoked (e.g. by a logout); a token that is not revoked
+                // is usually answered by the Bloom filter of the revocation list alone
+                if (revokedTokenCache.isRevoked(verifiedClaim.getTokenId())) {
+                    ResponseUtil.buildResponse(request, response, HttpStatus.UNAUTHORIZED, "Unauthorized request", "Token has been revoked", null);
+                    return;
                 }
+
+                // Build the user from the token claims or load it by its username
+                CustomUserDetails userDetails = resolveUserDetails(verifiedClaim);
+
+                // Set the user in the security context
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
                 throw new RuntimeException("JWT token is missing");
             }
@@ -119,10 +131,30 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    // Build the user details from the verified claims when the claims-trusted mode is enabled and the token is fresh enough,
+    // otherwise load the user from the database
+    private CustomUserDetails resolveUserDetails(VerifiedJwtClaim verifiedClaim) {
+        if (JwtConfig.getStaticClaimsTrustedEnabled() && isFreshEnough(verifiedClaim)) {
+            return CustomUserDetails.build(verifiedClaim);
+        }
+
+        return (CustomUserDetails) userDetailsServService.loadUserByUsername(verifiedClaim.getUserName());
+    }
+
+    // Check the token age against the configured maximum (without one, no token is fresh enough)
+    private boolean isFreshEnough(VerifiedJwtClaim verifiedClaim) {
+        Long maxTokenAgeMs = JwtConfig.getStaticClaimsTrustedMaxTokenAgeMs();
+        if (maxTokenAgeMs == null || maxTokenAgeMs <= 0) {
+            return false;
+        }
+
+        Date issuedAt = verifiedClaim.getIssuedAt();
+        return issuedAt != null && System.currentTimeMillis() - issuedAt.getTime() <= maxTokenAgeMs;
+    }
+
     // Skip the filter if the request is for the authentication endpoint or the excluded paths
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getServletPath();
-        return excludedPaths.stream().anyMatch(path::startsWith);
+        return excludedPathMatcher.matches(request);
     }
 }
\ No newline at end of file
@@ -50,6 +50,9 @@ public class JwtConfig {
     @Value("${jwt.public-key-file}")
     private String publicKeyFile;
 
+    @Value("${jwt.key-directory:}")
+    private String keyDirectory;
+
     @Value("${jwt.token.type}")
     private String tokenType;
 
@@ -59,6 +62,14 @@ public class JwtConfig {
     @Value("${jwt.cookie.name}")
     private String cookieName;
 
+    @Value("${jwt.claims-trusted.enabled:false}")
+    private boolean claimsTrustedEnabled;
+
+    // Tokens older than this are checked against the database again; the claims of a disabled user or a changed
+    // role stay trusted for at most this long, so there is no "no limit" setting
+    @Value("${jwt.claims-trusted.max-token-age-ms:300000}")
+    private Long claimsTrustedMaxTokenAgeMs;
+
     // Static variables to hold the configuration values
     private static boolean staticCookieHttpOnly;
     private static Long staticCookieMaxAgeMs;
@@ -72,9 +83,12 @@ public class JwtConfig {
     private static String staticKeySecret;
     private static String staticPrivateKeyFile;
     private static String staticPublicKeyFile;
+    private static String staticKeyDirectory;
     private static String staticTokenType;
     private static Long staticExpirationMs;
     private static String staticCookieName;
+    private static boolean staticClaimsTrustedEnabled;
+    private static Long staticClaimsTrustedMaxTokenAgeMs;
 
     @PostConstruct
     public void init() {
@@ -90,9 +104,18 @@ public class JwtConfig {
         staticKeySecret = this.keySecret;
         staticPrivateKeyFile = this.privateKeyFile;
         staticPublicKeyFile = this.publicKeyFile;
+        staticKeyDirectory = this.keyDirectory;
         staticTokenType = this.tokenType;
         staticExpirationMs = this.expirationMs;
         staticCookieName = this.cookieName;
+        staticClaimsTrustedEnabled = this.claimsTrustedEnabled;
+        staticClaimsTrustedMaxTokenAgeMs = this.claimsTrustedMaxTokenAgeMs;
+
+        // Refuse to start if the claims would be trusted for the whole lifetime of a token
+        if (this.claimsTrustedEnabled && (this.claimsTrustedMaxTokenAgeMs == null || this.claimsTrustedMaxTokenAgeMs <= 0)) {
+            throw new IllegalStateException("jwt.claims-trusted.max-token-age-ms must be greater than 0 " +
+                "when jwt.claims-trusted.enabled is true");
+        }
     }
 
     public static boolean getStaticCookieHttpOnly() {
@@ -131,6 +154,9 @@ public class JwtConfig {
     public static String getStaticPublicKeyFile() {
         return staticPublicKeyFile;
     }
+    public static String getStaticKeyDirectory() {
+        return staticKeyDirectory;
+    }
     public static String getStaticTokenType() {
         return staticTokenType;
     }
@@ -140,4 +166,10 @@ public class JwtConfig {
     public static String getStaticCookieName() {
         return staticCookieName;
     }
+    public static boolean getStaticClaimsTrustedEnabled() {
+        return staticClaimsTrustedEnabled;
+    }
+    public static Long getStaticClaimsTrustedMaxTokenAgeMs() {
+        return staticClaimsTrustedMaxTokenAgeMs;
+    }
 }
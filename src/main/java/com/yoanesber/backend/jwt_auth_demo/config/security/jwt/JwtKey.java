@@ -0,0 +1,15 @@
+package com.yoanesber.backend.jwt_auth_demo.config.security.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.Key;
+
+/**
+ * JwtKey is one entry of the JWT keyring: the key id (kid) stamped in the token header, the signature algorithm,
+ * the key used to sign tokens and the key used to verify them.
+ * A retiring key that is only kept to verify tokens issued before a rotation has no signing key.
+ */
+public record JwtKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+    public boolean canSign() {
+        return signingKey != null;
+    }
+}
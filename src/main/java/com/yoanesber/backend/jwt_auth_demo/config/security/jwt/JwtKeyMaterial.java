@@ -0,0 +1,325 @@
+package com.yoanesber.backend.jwt_auth_demo.config.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.crypto.SecretKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JwtKeyMaterial loads and parses the JWT keyring once at startup: the current signing key and the keys that
+ * still verify tokens (the current key plus retiring ones), indexed by their key id (kid).
+ * The keys are read either from jwt.key-directory (one key per kid, see loadDirectory) or, without a directory,
+ * from the single key configured in JwtConfig, whose kid is derived from the key itself.
+ * The keyring is kept in an immutable snapshot together with a JwtParser that resolves the verification key
+ * by the kid of the token header with one map lookup; a reload builds a new snapshot and swaps it atomically,
+ * so requests in flight finish with the keyring they started with.
+ * Like JwtConfig, the keys are exposed through static getters so that JwtUtil can use them statically.
+ */
+@Configuration
+public class JwtKeyMaterial {
+    private static final Pattern PEM_HEADER_FOOTER = Pattern.compile("-----(BEGIN|END) [A-Z ]*KEY-----");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Key ids become file names and token headers, so they are limited to URL- and file-safe characters
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    // Key directory layout: <kid>.public.pem and <kid>.private.pem (RSA, EC), <kid>.secret (HMAC), and active-kid
+    private static final String PUBLIC_KEY_SUFFIX = ".public.pem";
+    private static final String PRIVATE_KEY_SUFFIX = ".private.pem";
+    private static final String SECRET_SUFFIX = ".secret";
+    private static final String ACTIVE_KID_FILE = "active-kid";
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyMaterial.class);
+
+    // Immutable snapshot of the keyring, replaced as a whole on every successful reload
+    private static volatile Keyring keyring = Keyring.EMPTY;
+
+    // Reload counters
+    private static final AtomicLong reloadCount = new AtomicLong();
+    private static final AtomicLong reloadFailureCount = new AtomicLong();
+    private static volatile Instant lastReloadAt;
+
+    // JwtConfig is injected so that its static values are initialized before the keys are loaded
+    public JwtKeyMaterial(JwtConfig jwtConfig) {
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    // Load and parse the keyring for the configured algorithm, keeping the previous keyring if loading fails
+    public static synchronized void reload() {
+        String keyDirectory = JwtConfig.getStaticKeyDirectory();
+
+        try {
+            load(keyDirectory == null || keyDirectory.isBlank() ? null : Paths.get(keyDirectory));
+        } catch (Exception e) {
+            reloadFailureCount.incrementAndGet();
+            throw new IllegalStateException("Failed to load JWT key material: " + e.getMessage(), e);
+        }
+    }
+
+    // Reload the keyring if the files in the key directory changed since the last load; returns true if it did
+    public static synchronized boolean reloadIfChanged() {
+        String keyDirectory = JwtConfig.getStaticKeyDirectory();
+        if (keyDirectory == null || keyDirectory.isBlank()) {
+            return false;
+        }
+
+        try {
+            Path directory = Paths.get(keyDirectory);
+            if (fingerprint(directory).equals(keyring.fingerprint())) {
+                return false;
+            }
+
+            load(directory);
+            return true;
+        } catch (Exception e) {
+            reloadFailureCount.incrementAndGet();
+            throw new IllegalStateException("Failed to reload JWT key material: " + e.getMessage(), e);
+        }
+    }
+
+    private static void load(Path directory) throws Exception {
+        // Fail before reading any file if the algorithm is not supported
+        String keyAlgorithm = JwtConfig.getStaticKeyAlgorithm();
+        signatureAlgorithm(keyAlgorithm);
+
+        // The fingerprint is taken before the files are read, so a change made while loading triggers another reload
+        String fingerprint = directory != null ? fingerprint(directory) : null;
+        Map<String, JwtKey> keys = directory != null ? loadDirectory(directory, keyAlgorithm) : loadSingleKey(keyAlgorithm);
+        JwtKey signingKey = keys.get(directory != null ? activeKid(directory, keys) : keys.keySet().iterator().next());
+
+        keyring = new Keyring(signingKey, Map.copyOf(keys), fingerprint,
+            Jwts.parserBuilder().setSigningKeyResolver(new KeyringResolver(Map.copyOf(keys), signingKey)).build());
+        reloadCount.incrementAndGet();
+        lastReloadAt = Instant.now();
+        logger.info("JWT key material loaded for algorithm " + keyAlgorithm + ": signing key " + signingKey.kid() +
+            ", verification keys " + keys.keySet());
+    }
+
+    // The signature algorithm of a key algorithm: RS256 (RSA), ES256 (EC, P-256 keys) or HS256 (HMAC)
+    private static SignatureAlgorithm signatureAlgorithm(String keyAlgorithm) {
+        if ("RSA".equalsIgnoreCase(keyAlgorithm)) {
+            return SignatureAlgorithm.RS256;
+        } else if ("EC".equalsIgnoreCase(keyAlgorithm)) {
+            return SignatureAlgorithm.ES256;
+        } else if ("HMAC".equalsIgnoreCase(keyAlgorithm)) {
+            return SignatureAlgorithm.HS256;
+        }
+        throw new IllegalArgumentException("Unsupported key algorithm: " + keyAlgorithm);
+    }
+
+    // The key configured in JwtConfig (jwt.key-secret or jwt.private-key-file and jwt.public-key-file)
+    private static Map<String, JwtKey> loadSingleKey(String keyAlgorithm) throws Exception {
+        SignatureAlgorithm algorithm = signatureAlgorithm(keyAlgorithm);
+
+        JwtKey key;
+        if (algorithm.isRsa() || algorithm.isEllipticCurve()) {
+            PublicKey publicKey = readPublicKey(Paths.get(JwtConfig.getStaticPublicKeyFile()), algorithm);
+            key = new JwtKey(derivedKid(publicKey), algorithm,
+                readPrivateKey(Paths.get(JwtConfig.getStaticPrivateKeyFile()), algorithm), publicKey);
+        } else {
+            SecretKey secretKey = Keys.hmacShaKeyFor(JwtConfig.getStaticKeySecret().getBytes(StandardCharsets.UTF_8));
+            key = new JwtKey(derivedKid(secretKey), SignatureAlgorithm.HS256, secretKey, secretKey);
+        }
+        return Map.of(key.kid(), key);
+    }
+
+    // One key per kid: <kid>.public.pem with an optional <kid>.private.pem (RSA, EC) or <kid>.secret (HMAC).
+    // A key pair without a private key file is a retiring key that only verifies tokens.
+    private static Map<String, JwtKey> loadDirectory(Path directory, String keyAlgorithm) throws Exception {
+        SignatureAlgorithm algorithm = signatureAlgorithm(keyAlgorithm);
+        boolean keyPair = algorithm.isRsa() || algorithm.isEllipticCurve();
+        String suffix = keyPair ? PUBLIC_KEY_SUFFIX : SECRET_SUFFIX;
+
+        Map<String, JwtKey> keys = new HashMap<>();
+        for (String fileName : listFileNames(directory)) {
+            if (!fileName.endsWith(suffix)) {
+                continue;
+            }
+
+            String kid = fileName.substring(0, fileName.length() - suffix.length());
+            if (!KEY_ID.matcher(kid).matches()) {
+                logger.warn("Skipping JWT key file with an invalid key id: " + fileName);
+                continue;
+            }
+
+            if (keyPair) {
+                PublicKey publicKey = readPublicKey(directory.resolve(fileName), algorithm);
+                Path privateKeyFile = directory.resolve(kid + PRIVATE_KEY_SUFFIX);
+                PrivateKey privateKey = Files.isRegularFile(privateKeyFile) ? readPrivateKey(privateKeyFile, algorithm) : null;
+                keys.put(kid, new JwtKey(kid, algorithm, privateKey, publicKey));
+            } else {
+                SecretKey secretKey = Keys.hmacShaKeyFor(
+                    Files.readString(directory.resolve(fileName)).trim().getBytes(StandardCharsets.UTF_8));
+                keys.put(kid, new JwtKey(kid, SignatureAlgorithm.HS256, secretKey, secretKey));
+            }
+        }
+
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No JWT keys found in " + directory);
+        }
+        return keys;
+    }
+
+    // The kid named in the active-kid file or, without one, the greatest kid that can sign (e.g. the latest date)
+    private static String activeKid(Path directory, Map<String, JwtKey> keys) throws IOException {
+        Path activeKidFile = directory.resolve(ACTIVE_KID_FILE);
+        if (Files.isRegularFile(activeKidFile)) {
+            String kid = Files.readString(activeKidFile).trim();
+            JwtKey key = keys.get(kid);
+            if (key == null || !key.canSign()) {
+                throw new IllegalStateException("Active key " + kid + " has no signing key in " + directory);
+            }
+            return kid;
+        }
+
+        return keys.values().stream()
+            .filter(JwtKey::canSign)
+            .map(JwtKey::kid)
+            .max(String::compareTo)
+            .orElseThrow(() -> new IllegalStateException("No JWT signing key found in " + directory));
+    }
+
+    // Names, sizes and modification times of the files in the key directory
+    private static String fingerprint(Path directory) throws IOException {
+        StringBuilder fingerprint = new StringBuilder();
+        for (String fileName : listFileNames(directory)) {
+            Path file = directory.resolve(fileName);
+            fingerprint.append(fileName).append(':')
+                .append(Files.size(file)).append(':')
+                .append(Files.getLastModifiedTime(file).toMillis()).append('\n');
+        }
+        return fingerprint.toString();
+    }
+
+    private static List<String> listFileNames(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                .map(file -> file.getFileName().toString())
+                .sorted()
+                .toList();
+        }
+    }
+
+    // A stable kid for a configured key: the first 8 bytes of the SHA-256 of the encoded key, base64url-encoded
+    private static String derivedKid(Key key) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+    }
+
+    private static PrivateKey readPrivateKey(Path file, SignatureAlgorithm algorithm) throws Exception {
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(readPem(file));
+        return KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC").generatePrivate(spec);
+    }
+
+    // Read a public key; an EC key must be on the curve of the algorithm (P-256 for ES256)
+    private static PublicKey readPublicKey(Path file, SignatureAlgorithm algorithm) throws Exception {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(readPem(file));
+        PublicKey publicKey = KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC").generatePublic(spec);
+        if (publicKey instanceof ECPublicKey ecPublicKey &&
+            ecPublicKey.getParams().getCurve().getField().getFieldSize() != algorithm.getMinKeyLength()) {
+            throw new IllegalArgumentException(file + " is not a " + algorithm.getMinKeyLength() + "-bit EC key");
+        }
+        return publicKey;
+    }
+
+    private static byte[] readPem(Path file) throws Exception {
+        String pem = Files.readString(file);
+        String body = WHITESPACE.matcher(PEM_HEADER_FOOTER.matcher(pem).replaceAll("")).replaceAll("");
+        return Base64.getDecoder().decode(body);
+    }
+
+    // The key that signs new tokens
+    public static JwtKey getStaticSigningKey() {
+        JwtKey signingKey = keyring.signingKey();
+        if (signingKey == null) {
+            throw new IllegalStateException("JWT signing key is not loaded");
+        }
+        return signingKey;
+    }
+
+    // The keys that verify tokens, by kid
+    public static Map<String, JwtKey> getStaticVerificationKeys() {
+        return keyring.keys();
+    }
+
+    public static JwtParser getStaticJwtParser() {
+        JwtParser jwtParser = keyring.jwtParser();
+        if (jwtParser == null) {
+            throw new IllegalStateException("JWT parser is not initialized");
+        }
+        return jwtParser;
+    }
+
+    public static long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    public static long getReloadFailureCount() {
+        return reloadFailureCount.get();
+    }
+
+    public static Instant getLastReloadAt() {
+        return lastReloadAt;
+    }
+
+    private record Keyring(JwtKey signingKey, Map<String, JwtKey> keys, String fingerprint, JwtParser jwtParser) {
+        private static final Keyring EMPTY = new Keyring(null, Map.of(), null, null);
+    }
+
+    // Resolve the verification key by the kid of the token; tokens without a kid (issued before key ids were
+    // stamped) are verified with the signing key
+    private static final class KeyringResolver extends SigningKeyResolverAdapter {
+        private final Map<String, JwtKey> keys;
+        private final JwtKey signingKey;
+
+        private KeyringResolver(Map<String, JwtKey> keys, JwtKey signingKey) {
+            this.keys = keys;
+            this.signingKey = signingKey;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            JwtKey key = kid == null ? signingKey : keys.get(kid);
+            if (key == null) {
+                throw new SignatureException("JWT key id is not recognized: " + kid);
+            }
+            return key.verificationKey();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.yoanesber.backend.jwt_auth_demo.cache.VerifiedTokenCache;
 import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtConfig;
 import com.yoanesber.backend.jwt_auth_demo.dto.HttpResponseDTO;
 import com.yoanesber.backend.jwt_auth_demo.dto.LoginRequestDTO;
@@ -27,16 +28,19 @@ import com.yoanesber.backend.jwt_auth_demo.dto.TokenRefreshRequestDTO;
 import com.yoanesber.backend.jwt_auth_demo.dto.TokenRefreshResponseDTO;
 import com.yoanesber.backend.jwt_auth_demo.entity.CustomUserDetails;
 import com.yoanesber.backend.jwt_auth_demo.entity.JwtClaim;
+import com.yoanesber.backend.jwt_auth_demo.entity.JwtToken;
 import com.yoanesber.backend.jwt_auth_demo.entity.RefreshToken;
 import com.yoanesber.backend.jwt_auth_demo.entity.User;
+import com.yoanesber.backend.jwt_auth_demo.entity.VerifiedJwtClaim;
 import com.yoanesber.backend.jwt_auth_demo.service.RefreshTokenService;
+import com.yoanesber.backend.jwt_auth_demo.service.TokenRevocationService;
 import com.yoanesber.backend.jwt_auth_demo.service.UserService;
 import com.yoanesber.backend.jwt_auth_demo.util.JwtUtil;
 import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
 
 /**
  * AuthController is a REST controller that handles authentication and authorization requests.
- * It provides endpoints for user login and token refresh.
+ * It provides endpoints for user login, token refresh and logout.
  * The controller uses JWT (JSON Web Token) for authentication and authorization.
  * It also uses refresh tokens to obtain new access tokens without requiring the user to log in again.
  */
@@ -46,7 +50,9 @@ import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
 public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private static final String FAILED_TO_GENERATE_JWT_COOKIE = "Failed to generate JWT cookie";
     private static final String FAILED_TO_GENERATE_JWT_TOKEN = "Failed to generate JWT token";
@@ -55,13 +61,17 @@ public class AuthController {
     private static final String INVALID_REFRESH_TOKEN = "Invalid Refresh Token";
     private static final String INVALID_REQUEST = "Invalid Request";
     private static final String LOGIN_SUCCESS = "Login successful";
+    private static final String LOGOUT_SUCCESS = "Logout successful";
     private static final String REFRESH_TOKEN_SUCCESS = "Refresh token successful";
 
     public AuthController(AuthenticationManager authenticationManager, 
-        RefreshTokenService refreshTokenService, UserService userService) {
+        RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService,
+        UserService userService, VerifiedTokenCache verifiedTokenCache) {
         this.authenticationManager = authenticationManager;
         this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
         this.userService = userService;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @PostMapping(value = "/login", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -134,10 +144,10 @@ public class AuthController {
             JwtClaim jwtClaim = new JwtClaim(new User(userDetails));
 
             // Generate JWT token
-            String jwtToken = JwtUtil.generateJwtToken(jwtClaim);
+            JwtToken jwtToken = JwtUtil.createJwtToken(jwtClaim);
 
             // Check if the JWT token is null or empty
-            if (jwtToken == null || jwtToken.isEmpty()) {
+            if (jwtToken == null || jwtToken.getToken().isEmpty()) {
                 return ResponseUtil.buildInternalServerErrorResponse(request, 
                     FAILED_TO_GENERATE_JWT_TOKEN, 
                     "An error occurred while generating the JWT token", 
@@ -161,7 +171,7 @@ public class AuthController {
 
             // Generate JWT cookie
             if (JwtConfig.getStaticCookieResponseEnabled()) {
-                ResponseCookie jwtCookie = JwtUtil.generateJwtCookie(jwtClaim);
+                ResponseCookie jwtCookie = JwtUtil.generateJwtCookie(jwtToken.getToken());
 
                 // Check if the JWT cookie is null
                 if (jwtCookie == null) {
@@ -175,9 +185,9 @@ public class AuthController {
                 return ResponseUtil.buildOkWithCookiesResponse(request, 
                     LOGIN_SUCCESS, 
                     new LoginResponseDTO(
-                        jwtToken, 
-                        jwtRefreshToken.getId().getToken(), 
-                        JwtUtil.getExpirationDateFromToken(jwtToken),
+                        jwtToken.getToken(), 
+                        jwtRefreshToken.getToken(), 
+                        jwtToken.getExpiration(),
                         JwtConfig.getStaticTokenType()
                     ), "Set-Cookie", jwtCookie.toString());
 
@@ -186,9 +196,9 @@ public class AuthController {
                 return ResponseUtil.buildOkResponse(request, 
                     LOGIN_SUCCESS, 
                     new LoginResponseDTO(
-                        jwtToken, 
-                        jwtRefreshToken.getId().getToken(), 
-                        JwtUtil.getExpirationDateFromToken(jwtToken),
+                        jwtToken.getToken(), 
+                        jwtRefreshToken.getToken(), 
+                        jwtToken.getExpiration(),
                         JwtConfig.getStaticTokenType()
                     ));
             }
@@ -214,7 +224,7 @@ public class AuthController {
         try {
             // Find the refresh token
             RefreshToken jwtRefreshToken = refreshTokenService
-                .findByToken(tokenRefreshRequest.getRefreshToken()).orElse(null);
+                .findByTokenWithUser(tokenRefreshRequest.getRefreshToken()).orElse(null);
 
             // Check if the refresh token is null
             if (jwtRefreshToken == null) {
@@ -239,10 +249,10 @@ public class AuthController {
             JwtClaim jwtClaim = new JwtClaim(userDetails);
 
             // Generate JWT token from the user details
-            String jwtToken = JwtUtil.generateJwtToken(jwtClaim);
+            JwtToken jwtToken = JwtUtil.createJwtToken(jwtClaim);
 
             // Check if the JWT token is null or empty
-            if (jwtToken == null || jwtToken.isEmpty()) {
+            if (jwtToken == null || jwtToken.getToken().isEmpty()) {
                 return ResponseUtil.buildInternalServerErrorResponse(request, 
                     FAILED_TO_GENERATE_JWT_TOKEN, 
                     "An error occurred while generating the JWT token", 
@@ -263,7 +273,7 @@ public class AuthController {
 
             // Generate JWT cookie
             if (JwtConfig.getStaticCookieResponseEnabled()) {
-                ResponseCookie jwtCookie = JwtUtil.generateJwtCookie(jwtClaim);
+                ResponseCookie jwtCookie = JwtUtil.generateJwtCookie(jwtToken.getToken());
 
                 // Check if the JWT cookie is null
                 if (jwtCookie == null) {
@@ -277,9 +287,9 @@ public class AuthController {
                 return ResponseUtil.buildOkWithCookiesResponse(request, 
                     REFRESH_TOKEN_SUCCESS, 
                     new TokenRefreshResponseDTO(
-                        jwtToken, 
-                        newJwtRefreshToken.getId().getToken(), 
-                        JwtUtil.getExpirationDateFromToken(jwtToken),
+                        jwtToken.getToken(), 
+                        newJwtRefreshToken.getToken(), 
+                        jwtToken.getExpiration(),
                         JwtConfig.getStaticTokenType()
                     ), "Set-Cookie", jwtCookie.toString());
             } else {
@@ -287,9 +297,9 @@ public class AuthController {
                 return ResponseUtil.buildOkResponse(request, 
                     REFRESH_TOKEN_SUCCESS, 
                     new TokenRefreshResponseDTO(
-                        jwtToken, 
-                        newJwtRefreshToken.getId().getToken(), 
-                        JwtUtil.getExpirationDateFromToken(jwtToken),
+                        jwtToken.getToken(), 
+                        newJwtRefreshToken.getToken(), 
+                        jwtToken.getExpiration(),
                         JwtConfig.getStaticTokenType()
                     ));
             }
@@ -300,4 +310,53 @@ public class AuthController {
                 null);
         }
     }
+
+    @PostMapping(value = "/logout")
+    public ResponseEntity<HttpResponseDTO> logout(HttpServletRequest request) {
+        try {
+            // Get the JWT token the request was authenticated with, from the header or the cookies
+            String jwtToken = JwtUtil.getJwtFromHeader(request);
+            if (jwtToken == null || jwtToken.isEmpty()) {
+                jwtToken = JwtUtil.getJwtFromCookies(request);
+            }
+
+            // Check if the JWT token is null or empty
+            if (jwtToken == null || jwtToken.isEmpty()) {
+                return ResponseUtil.buildBadRequestResponse(request, 
+                    INVALID_REQUEST, 
+                    "JWT token must not be null", 
+                    null);
+            }
+
+            // Get the claims of the token (already verified by the JWT filter, so usually cached)
+            VerifiedJwtClaim verifiedClaim = verifiedTokenCache.verify(jwtToken);
+
+            // Revoke the access token until it expires, on every node
+            tokenRevocationService.revoke(jwtToken, verifiedClaim);
+
+            // Delete the refresh token so that no new access token can be obtained without logging in again
+            if (verifiedClaim.getUserId() != null) {
+                refreshTokenService.deleteByUserId(verifiedClaim.getUserId());
+            }
+
+            SecurityContextHolder.clearContext();
+
+            // Remove the JWT cookie
+            if (JwtConfig.getStaticCookieResponseEnabled()) {
+                return ResponseUtil.buildOkWithCookiesResponse(request, 
+                    LOGOUT_SUCCESS, 
+                    null, 
+                    "Set-Cookie", JwtUtil.getCleanJwtCookie().toString());
+            } else {
+                return ResponseUtil.buildOkResponse(request, 
+                    LOGOUT_SUCCESS, 
+                    null);
+            }
+        } catch (Exception e) {
+            return ResponseUtil.buildInternalServerErrorResponse(request, 
+                INTERNAL_SERVER_ERROR, 
+                "An error occurred while processing the request: " + e.getMessage(), 
+                null);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package com.yoanesber.backend.jwt_auth_demo.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.yoanesber.backend.jwt_auth_demo.entity.JwkSet;
+import com.yoanesber.backend.jwt_auth_demo.service.JwksService;
+
+/**
+ * JwksController publishes the public keys that verify the JWTs issued by this application at
+ * /.well-known/jwks.json, so other services can verify tokens locally instead of calling back.
+ * The key set is served from its pre-serialized bytes with a long public max-age and an ETag for revalidation.
+ * The path is public: it bypasses the JWT filter and the Origin checks of CorsFilter.
+ */
+
+@RestController
+public class JwksController {
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+    private final JwksService jwksService;
+    private final String cacheControl;
+
+    public JwksController(JwksService jwksService,
+        @Value("${jwks.max-age-seconds:86400}") long maxAgeSeconds) {
+        this.jwksService = jwksService;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().getHeaderValue();
+    }
+
+    @GetMapping(value = JWKS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getJwks(HttpServletResponse response, WebRequest webRequest) {
+        JwkSet jwks = jwksService.getJwks();
+
+        // Set on the response so that a 304 carries them too
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+
+        // Answer 304 if the verifier already has this key set
+        if (webRequest.checkNotModified(jwks.getETag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .contentLength(jwks.getBody().length)
+            .body(jwks.getBody());
+    }
+}
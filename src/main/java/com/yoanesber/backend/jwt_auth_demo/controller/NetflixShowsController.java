@@ -1,20 +1,47 @@
 package com.yoanesber.backend.jwt_auth_demo.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.yoanesber.backend.jwt_auth_demo.dto.HttpResponseDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsBulkDeleteDTO;
 import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsPageDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchCriteriaDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsVersionDTO;
+import com.yoanesber.backend.jwt_auth_demo.entity.EShowType;
 import com.yoanesber.backend.jwt_auth_demo.service.NetflixShowsService;
+import com.yoanesber.backend.jwt_auth_demo.util.CursorUtil;
+import com.yoanesber.backend.jwt_auth_demo.util.ETagUtil;
 import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
 
 /**
@@ -28,6 +55,7 @@ import com.yoanesber.backend.jwt_auth_demo.util.ResponseUtil;
 public class NetflixShowsController {
 
     private final NetflixShowsService netflixShowsService;
+    private final ObjectMapper objectMapper;
 
     private static final String INVALID_REQUEST = "Invalid Request";
     private static final String INTERNAL_SERVER_ERROR = "Internal Server Error";
@@ -36,9 +64,22 @@ public class NetflixShowsController {
     private static final String RECORD_CREATED_SUCCESSFULLY = "Record created successfully";
     private static final String RECORD_UPDATED_SUCCESSFULLY = "Record updated successfully";
     private static final String RECORD_DELETED_SUCCESSFULLY = "Record deleted successfully";
+    private static final String PRECONDITION_FAILED = "Precondition Failed";
+    private static final String PRECONDITION_REQUIRED = "Precondition Required";
+    private static final String RECORDS_PROCESSED_SUCCESSFULLY = "Records processed successfully";
+    private static final String RECORDS_DELETED_SUCCESSFULLY = "Records deleted successfully";
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 500;
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+    private static final int MAX_BULK_ITEMS = 50000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SEARCH_OFFSET = 10000;
 
-    public NetflixShowsController(NetflixShowsService netflixShowsService) {
+    public NetflixShowsController(NetflixShowsService netflixShowsService, ObjectMapper objectMapper) {
         this.netflixShowsService = netflixShowsService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -67,23 +108,89 @@ public class NetflixShowsController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<HttpResponseDTO> bulkSaveNetflixShows(HttpServletRequest request) {
+        // Read the items from a JSON array or a newline-delimited JSON stream
+        List<NetflixShowsDTO> netflixShowsRequests = new ArrayList<>();
+        try (MappingIterator<NetflixShowsDTO> iterator = objectMapper.readerFor(NetflixShowsDTO.class)
+            .readValues(request.getInputStream())) {
+            while (iterator.hasNextValue() && netflixShowsRequests.size() <= MAX_BULK_ITEMS) {
+                netflixShowsRequests.add(iterator.nextValue());
+            }
+        } catch (IOException | RuntimeException e) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Request body must be a JSON array or newline-delimited JSON of NetflixShows: " + e.getMessage(), 
+                null);
+        }
+
+        // Validate the number of items
+        if (netflixShowsRequests.isEmpty() || netflixShowsRequests.size() > MAX_BULK_ITEMS) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Request must contain between 1 and " + MAX_BULK_ITEMS + " NetflixShows", 
+                null);
+        }
+
+        try {
+            // Create and update the NetflixShows & Return the result of each item
+            return ResponseUtil.buildOkResponse(request, 
+                RECORDS_PROCESSED_SUCCESSFULLY,
+                netflixShowsService.bulkSaveNetflixShows(netflixShowsRequests));
+        } catch (Exception e) {
+            return ResponseUtil.buildInternalServerErrorResponse(request, 
+                INTERNAL_SERVER_ERROR,
+                "An error occurred while saving NetflixShows: " + e.getMessage(), 
+                null);
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<HttpResponseDTO> getAllNetflixShows(HttpServletRequest request) {
+    public ResponseEntity<HttpResponseDTO> getAllNetflixShows(
+        @RequestParam(value = "limit", required = false, defaultValue = "" + DEFAULT_PAGE_LIMIT) Integer limit,
+        @RequestParam(value = "after", required = false) String after,
+        HttpServletRequest request, WebRequest webRequest) {
+        // Validate the limit
+        if (limit == null || limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Limit must be between 1 and " + MAX_PAGE_LIMIT, 
+                null);
+        }
+
         try {
-            // Get all NetflixShows
-            List<NetflixShowsDTO> netflixShows = netflixShowsService.getAllNetflixShows();
+            // Validate the cursor first, so that a malformed one is rejected rather than answered with 304
+            Long afterId = CursorUtil.decode(after);
 
-            // Check if the list is empty
-            if (netflixShows == null || netflixShows.isEmpty()) {
+            // Answer 304 if the catalogue has not changed since the client's copy of this page,
+            // before the page is queried and serialized
+            NetflixShowsVersionDTO version = netflixShowsService.getNetflixShowsVersion();
+            long lastModified = ETagUtil.toEpochMilli(version.getLastModifiedAt());
+            String eTag = ETagUtil.weak(version.getVersion(), lastModified, afterId != null ? afterId : 0, limit);
+            if (webRequest.checkNotModified(eTag, lastModified)) {
+                return null;
+            }
+
+            // Get the page of NetflixShows after the cursor
+            NetflixShowsPageDTO netflixShowsPage = netflixShowsService.getNetflixShowsPage(after, limit);
+
+            // Check if the first page is empty
+            if (after == null && netflixShowsPage.getItems().isEmpty()) {
                 return ResponseUtil.buildNotFoundResponse(request, 
                     RECORD_NOT_FOUND, 
                     "No NetflixShows found in the database", 
                     null);
             }
 
-            return ResponseUtil.buildOkResponse(request, 
+            return ResponseUtil.buildOkWithHeadersResponse(request, 
                 RECORD_RETRIEVED_SUCCESSFULLY,
-                netflixShows);
+                netflixShowsPage,
+                conditionalHeaders(eTag, lastModified));
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                e.getMessage(), 
+                null);
         } catch (Exception e) {
             return ResponseUtil.buildInternalServerErrorResponse(request, 
                 INTERNAL_SERVER_ERROR, 
@@ -92,9 +199,84 @@ public class NetflixShowsController {
         }
     }
 
+    @GetMapping("/export")
+    public void exportNetflixShows(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Compress the export if the client accepts it
+        boolean gzip = acceptsGzip(request.getHeaders(HttpHeaders.ACCEPT_ENCODING));
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"netflix-shows.ndjson\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // Stream the records straight to the client; if the client disconnects,
+        // the next write fails and the database cursor is closed with the transaction
+        try (OutputStream outputStream = gzip ? 
+            new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE) : 
+            response.getOutputStream()) {
+            netflixShowsService.exportNetflixShows(outputStream);
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<HttpResponseDTO> searchNetflixShows(
+        @RequestParam(value = "q", required = false) String query,
+        @RequestParam(value = "showType", required = false) String showType,
+        @RequestParam(value = "releaseYear", required = false) Integer releaseYear,
+        @RequestParam(value = "country", required = false) String country,
+        @RequestParam(value = "rating", required = false) String rating,
+        @RequestParam(value = "limit", required = false, defaultValue = "" + DEFAULT_SEARCH_LIMIT) Integer limit,
+        @RequestParam(value = "offset", required = false, defaultValue = "0") Integer offset,
+        HttpServletRequest request) {
+        // Validate the query
+        if (query == null || query.isBlank()) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Query must not be null or empty", 
+                null);
+        }
+
+        // Validate the show type
+        if (showType != null && Arrays.stream(EShowType.values()).noneMatch(t -> t.name().equals(showType))) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Show type must be one of " + Arrays.toString(EShowType.values()), 
+                null);
+        }
+
+        // Validate the limit and offset
+        if (limit == null || limit < 1 || limit > MAX_SEARCH_LIMIT || 
+            offset == null || offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Limit must be between 1 and " + MAX_SEARCH_LIMIT + 
+                    " and offset between 0 and " + MAX_SEARCH_OFFSET, 
+                null);
+        }
+
+        try {
+            // Search the NetflixShows
+            NetflixShowsSearchCriteriaDTO criteria = new NetflixShowsSearchCriteriaDTO(
+                query, showType, releaseYear, country, rating);
+
+            return ResponseUtil.buildOkResponse(request, 
+                RECORD_RETRIEVED_SUCCESSFULLY,
+                netflixShowsService.searchNetflixShows(criteria, limit, offset));
+        } catch (Exception e) {
+            return ResponseUtil.buildInternalServerErrorResponse(request, 
+                INTERNAL_SERVER_ERROR, 
+                "An error occurred while searching NetflixShows: " + e.getMessage(), 
+                null);
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<HttpResponseDTO> getNetflixShowsById(@PathVariable Long id,
-        HttpServletRequest request) {
+        HttpServletRequest request, WebRequest webRequest) {
         // Validate the ID
         if (id == null) {
             return ResponseUtil.buildBadRequestResponse(request, 
@@ -115,9 +297,15 @@ public class NetflixShowsController {
                     null);
             }
 
-            return ResponseUtil.buildOkResponse(request, 
+            // Answer 304 if the client already has this version of the NetflixShows
+            if (webRequest.checkNotModified(eTag(netflixShows), ETagUtil.toEpochMilli(netflixShows.getLastModifiedAt()))) {
+                return null;
+            }
+
+            return ResponseUtil.buildOkWithHeadersResponse(request, 
                 RECORD_RETRIEVED_SUCCESSFULLY,
-                netflixShows);
+                netflixShows,
+                conditionalHeaders(netflixShows));
         } catch (Exception e) {
             return ResponseUtil.buildInternalServerErrorResponse(request, 
                 INTERNAL_SERVER_ERROR, 
@@ -128,7 +316,9 @@ public class NetflixShowsController {
 
     @PutMapping("/{id}")
     public ResponseEntity<HttpResponseDTO> updateNetflixShows(@PathVariable Long id, 
-        @RequestBody NetflixShowsDTO netflixShowsRequest, HttpServletRequest request) {
+        @RequestBody NetflixShowsDTO netflixShowsRequest, 
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        HttpServletRequest request) {
         // Validate the ID
         if (id == null) {
             return ResponseUtil.buildBadRequestResponse(request, 
@@ -148,9 +338,9 @@ public class NetflixShowsController {
         }
 
         try {
-            // Update the NetflixShows
+            // Update the NetflixShows (only if it still matches the If-Match header, when there is one)
             NetflixShowsDTO updatedNetflixShows = netflixShowsService
-                .updateNetflixShows(id, netflixShowsRequest);
+                .updateNetflixShows(id, netflixShowsRequest, ifMatch != null ? ETagUtil.versionOf(ifMatch, id) : null);
 
             // Check if the NetflixShows is null
             if (updatedNetflixShows == null) {
@@ -161,9 +351,85 @@ public class NetflixShowsController {
             }
 
             // Return ok response with the updated NetflixShows
-            return ResponseUtil.buildOkResponse(request, 
+            return ResponseUtil.buildOkWithHeadersResponse(request, 
                 RECORD_UPDATED_SUCCESSFULLY,
-                updatedNetflixShows);
+                updatedNetflixShows,
+                conditionalHeaders(updatedNetflixShows));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseUtil.buildPreconditionFailedResponse(request, 
+                PRECONDITION_FAILED, 
+                e.getMessage(), 
+                null);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                e.getMessage(), 
+                null);
+        } catch (Exception e) {
+            return ResponseUtil.buildInternalServerErrorResponse(request, 
+                INTERNAL_SERVER_ERROR, 
+                "An error occurred while updating NetflixShows: " + e.getMessage(), 
+                null);
+        }
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HttpResponseDTO> patchNetflixShows(@PathVariable Long id, 
+        @RequestBody Map<String, Object> changes, 
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        HttpServletRequest request) {
+        // Validate the ID
+        if (id == null) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "ID must not be null", 
+                null);
+        }
+
+        // Partial updates must be based on a known version, so that no concurrent change is lost
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return ResponseUtil.buildPreconditionRequiredResponse(request, 
+                PRECONDITION_REQUIRED, 
+                "If-Match header with the ETag of the NetflixShows is required", 
+                null);
+        }
+
+        // Validate the request body
+        if (changes == null || changes.isEmpty()) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Changes must not be null or empty", 
+                null);
+        }
+
+        try {
+            // Update only the changed fields of the NetflixShows, if it still matches the If-Match header
+            NetflixShowsDTO updatedNetflixShows = netflixShowsService
+                .patchNetflixShows(id, changes, ETagUtil.versionOf(ifMatch, id));
+
+            // Check if the NetflixShows is null
+            if (updatedNetflixShows == null) {
+                return ResponseUtil.buildNotFoundResponse(request, 
+                    RECORD_NOT_FOUND, 
+                    "NetflixShows not found with ID: " + id, 
+                    null);
+            }
+
+            // Return ok response with the updated NetflixShows
+            return ResponseUtil.buildOkWithHeadersResponse(request, 
+                RECORD_UPDATED_SUCCESSFULLY,
+                updatedNetflixShows,
+                conditionalHeaders(updatedNetflixShows));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseUtil.buildPreconditionFailedResponse(request, 
+                PRECONDITION_FAILED, 
+                e.getMessage(), 
+                null);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                e.getMessage(), 
+                null);
         } catch (Exception e) {
             return ResponseUtil.buildInternalServerErrorResponse(request, 
                 INTERNAL_SERVER_ERROR, 
@@ -202,5 +468,102 @@ public class NetflixShowsController {
                 null);
         }
     }
-    
+
+    @PostMapping(value = "/bulk-delete", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HttpResponseDTO> bulkDeleteNetflixShows(@RequestBody NetflixShowsBulkDeleteDTO netflixShowsBulkDeleteRequest,
+        HttpServletRequest request) {
+        // Validate the request body
+        if (netflixShowsBulkDeleteRequest == null) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "NetflixShowsBulkDeleteRequest must not be null", 
+                null);
+        }
+
+        // Validate the number of IDs
+        if (netflixShowsBulkDeleteRequest.getIds() != null && netflixShowsBulkDeleteRequest.getIds().size() > MAX_BULK_ITEMS) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                "Request must contain at most " + MAX_BULK_ITEMS + " IDs", 
+                null);
+        }
+
+        try {
+            // Delete the NetflixShows & Return the ids of the deleted NetflixShows
+            return ResponseUtil.buildOkResponse(request, 
+                RECORDS_DELETED_SUCCESSFULLY,
+                netflixShowsService.bulkDeleteNetflixShows(netflixShowsBulkDeleteRequest));
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.buildBadRequestResponse(request, 
+                INVALID_REQUEST,
+                e.getMessage(), 
+                null);
+        } catch (Exception e) {
+            return ResponseUtil.buildInternalServerErrorResponse(request, 
+                INTERNAL_SERVER_ERROR, 
+                "An error occurred while deleting NetflixShows: " + e.getMessage(), 
+                null);
+        }
+    }
+
+    // The ETag of a NetflixShows is its id and version, which changes with every update
+    private static String eTag(NetflixShowsDTO netflixShows) {
+        return ETagUtil.strong(netflixShows.getId(), netflixShows.getVersion());
+    }
+
+    private static HttpHeaders conditionalHeaders(NetflixShowsDTO netflixShows) {
+        return conditionalHeaders(eTag(netflixShows), ETagUtil.toEpochMilli(netflixShows.getLastModifiedAt()));
+    }
+
+    // Check the Accept-Encoding headers for gzip with a non-zero quality, e.g. "gzip, deflate" or "br, *;q=0.5",
+    // but not "gzip;q=0" or "*, gzip;q=0"; an element with an invalid quality is ignored
+    private static boolean acceptsGzip(Enumeration<String> acceptEncodingHeaders) {
+        Double gzipQuality = null;
+        Double anyQuality = null;
+
+        while (acceptEncodingHeaders != null && acceptEncodingHeaders.hasMoreElements()) {
+            for (String element : acceptEncodingHeaders.nextElement().split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+
+                double quality = 1.0;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.length() > 2 && (parameter.startsWith("q=") || parameter.startsWith("Q="))) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2));
+                        } catch (NumberFormatException e) {
+                            quality = -1;
+                        }
+                    }
+                }
+                if (quality < 0 || quality > 1) {
+                    continue;
+                }
+
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+                } else if (coding.equals("*")) {
+                    anyQuality = anyQuality == null ? quality : Math.max(anyQuality, quality);
+                }
+            }
+        }
+
+        // An explicit gzip element takes precedence over the wildcard
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    // Validators of a response; private no-cache lets clients keep the body but revalidate it on every use
+    private static HttpHeaders conditionalHeaders(String eTag, long lastModified) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        return headers;
+    }
 }
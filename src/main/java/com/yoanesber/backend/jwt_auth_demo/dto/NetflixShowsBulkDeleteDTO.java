@@ -0,0 +1,29 @@
+package com.yoanesber.backend.jwt_auth_demo.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * NetflixShowsBulkDeleteDTO is a Data Transfer Object (DTO) that selects the Netflix shows to delete at once.
+ * Shows are selected by id, by filter (exact show type, release year, country and rating) or both;
+ * only the fields that are set are applied, and at least one of them must be set.
+ * The @Data annotation from Lombok generates getters, setters, equals, hashCode, and toString methods.
+ * The @NoArgsConstructor and @AllArgsConstructor annotations are used to create constructors for the class.
+ */
+
+@Data
+@Getter
+@Setter
+@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
+@AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
+public class NetflixShowsBulkDeleteDTO {
+    private List<Long> ids;
+    private String showType;
+    private Integer releaseYear;
+    private String country;
+    private String rating;
+}
@@ -0,0 +1,32 @@
+package com.yoanesber.backend.jwt_auth_demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * NetflixShowsBulkResultDTO is a Data Transfer Object (DTO) that represents the result of one item of a bulk request.
+ * The index is the position of the item in the request, and the status is one of
+ * CREATED, UPDATED, NOT_FOUND or INVALID (with the reason in the message).
+ * The @Data annotation from Lombok generates getters, setters, equals, hashCode, and toString methods.
+ * The @NoArgsConstructor and @AllArgsConstructor annotations are used to create constructors for the class.
+ */
+
+@Data
+@Getter
+@Setter
+@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
+@AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
+public class NetflixShowsBulkResultDTO {
+    public static final String STATUS_CREATED = "CREATED";
+    public static final String STATUS_UPDATED = "UPDATED";
+    public static final String STATUS_NOT_FOUND = "NOT_FOUND";
+    public static final String STATUS_INVALID = "INVALID";
+
+    private Integer index;
+    private Long id;
+    private String status;
+    private String message;
+}
@@ -1,6 +1,8 @@
 package com.yoanesber.backend.jwt_auth_demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.sql.Date;
+import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -34,4 +36,12 @@ public class NetflixShowsDTO {
     private String duration;
     private String listedIn;
     private String description;
+
+    // Last time the show was created or updated; only used for ETag and Last-Modified headers
+    @JsonIgnore
+    private LocalDateTime lastModifiedAt;
+
+    // Version of the show; only used for ETag and If-Match headers
+    @JsonIgnore
+    private Long version;
 }
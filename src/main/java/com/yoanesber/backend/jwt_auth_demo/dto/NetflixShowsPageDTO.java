@@ -1,7 +1,7 @@
-package com.yoanesber.backend.jwt_auth_demo.entity;
+package com.yoanesber.backend.jwt_auth_demo.dto;
+
+import java.util.List;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
@@ -9,22 +9,20 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
- * RefreshTokenId is an embedded ID class that represents the composite key for the RefreshToken entity.
+ * NetflixShowsPageDTO is a Data Transfer Object (DTO) that represents one page of Netflix shows.
+ * The nextCursor is an opaque value to pass as the after parameter to get the next page;
+ * it is null on the last page.
  * The @Data annotation from Lombok generates getters, setters, equals, hashCode, and toString methods.
  * The @NoArgsConstructor and @AllArgsConstructor annotations are used to create constructors for the class.
- * The @Embeddable annotation indicates that this class can be embedded in another entity.
  */
 
-@AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
 @Data
 @Getter
-@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
 @Setter
-@Embeddable
-public class RefreshTokenId {
-    @Column(nullable = false, unique = true)
-    private Long userId;
-
-    @Column(nullable = false, unique = true, length = 50)
-    private String token;
-}
\ No newline at end of file
+@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
+@AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
+public class NetflixShowsPageDTO {
+    private List<NetflixShowsDTO> items;
+    private String nextCursor;
+    private Integer limit;
+}
@@ -0,0 +1,28 @@
+package com.yoanesber.backend.jwt_auth_demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * NetflixShowsSearchCriteriaDTO is a Data Transfer Object (DTO) that represents a full-text search over Netflix shows.
+ * The query is matched against the title, director, cast, categories and description;
+ * the other fields are optional filters that are only applied when they are set.
+ * The @Data annotation from Lombok generates getters, setters, equals, hashCode, and toString methods.
+ * The @NoArgsConstructor and @AllArgsConstructor annotations are used to create constructors for the class.
+ */
+
+@Data
+@Getter
+@Setter
+@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
+@AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
+public class NetflixShowsSearchCriteriaDTO {
+    private String query;
+    private String showType;
+    private Integer releaseYear;
+    private String country;
+    private String rating;
+}
@@ -0,0 +1,28 @@
+package com.yoanesber.backend.jwt_auth_demo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * NetflixShowsSearchPageDTO is a Data Transfer Object (DTO) that represents one page of search results,
+ * ordered by relevance. The nextOffset is the offset of the next page, or null on the last page.
+ * The @Data annotation from Lombok generates getters, setters, equals, hashCode, and toString methods.
+ * The @NoArgsConstructor and @AllArgsConstructor annotations are used to create constructors for the class.
+ */
+
+@Data
+@Getter
+@Setter
+@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
+@AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
+public class NetflixShowsSearchPageDTO {
+    private List<NetflixShowsDTO> items;
+    private Integer limit;
+    private Integer offset;
+    private Integer nextOffset;
+}
@@ -0,0 +1,27 @@
+package com.yoanesber.backend.jwt_auth_demo.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * NetflixShowsVersionDTO is a Data Transfer Object (DTO) that represents the version of the whole catalogue:
+ * a counter bumped by every statement that writes to netflix_shows, and the time of the last such write.
+ * It changes whenever the content of any list page can change, so it is used to validate cached lists.
+ * The @Data annotation from Lombok generates getters, setters, equals, hashCode, and toString methods.
+ * The @NoArgsConstructor and @AllArgsConstructor annotations are used to create constructors for the class.
+ */
+
+@Data
+@Getter
+@Setter
+@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
+@AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
+public class NetflixShowsVersionDTO {
+    private Long version;
+    private LocalDateTime lastModifiedAt;
+}
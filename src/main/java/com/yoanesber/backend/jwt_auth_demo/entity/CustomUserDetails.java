@@ -25,6 +25,11 @@ public class CustomUserDetails implements UserDetails {
         return new CustomUserDetails(user);
     }
 
+    // Build the user details directly from the claims of a verified JWT, without a database lookup
+    public static CustomUserDetails build(VerifiedJwtClaim claim) {
+        return new CustomUserDetails(new User(claim));
+    }
+
     public Long getId() {
         return this.user.getId();
     }
@@ -92,6 +97,6 @@ public class CustomUserDetails implements UserDetails {
                 + ", firstName=" + user.getFirstName() + ", lastName=" + user.getLastName() + ", isEnabled="
                 + user.isEnabled() + ", isAccountNonExpired=" + user.isAccountNonExpired() + ", isAccountNonLocked="
                 + user.isAccountNonLocked() + ", isCredentialsNonExpired=" + user.isCredentialsNonExpired()
-                + ", userType=" + user.getUserType().name() + ", lastLogin=" + user.getLastLogin() + "]";
+                + ", userType=" + (user.getUserType() != null ? user.getUserType().name() : null) + ", lastLogin=" + user.getLastLogin() + "]";
     }
 }
@@ -0,0 +1,27 @@
+package com.yoanesber.backend.jwt_auth_demo.entity;
+
+import lombok.Getter;
+
+/**
+ * JwkSet is the JSON Web Key Set of the public verification keys, serialized once per keyring,
+ * together with its entity tag.
+ * The body is shared by every response and must not be modified.
+ */
+
+@Getter
+public final class JwkSet {
+    private final byte[] body;
+    private final String eTag;
+    private final int keyCount;
+
+    public JwkSet(byte[] body, String eTag, int keyCount) {
+        this.body = body;
+        this.eTag = eTag;
+        this.keyCount = keyCount;
+    }
+
+    @Override
+    public String toString() {
+        return "JwkSet{eTag=" + eTag + ", keyCount=" + keyCount + "}";
+    }
+}
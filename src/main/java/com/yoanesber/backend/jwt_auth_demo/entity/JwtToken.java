@@ -0,0 +1,37 @@
+package com.yoanesber.backend.jwt_auth_demo.entity;
+
+import java.util.Date;
+
+import lombok.Getter;
+
+/**
+ * JwtToken is an immutable holder for a JWT that has just been signed by the server,
+ * together with its issued-at and expiration dates.
+ * It lets callers use the expiration of a freshly issued token without parsing it back.
+ */
+
+@Getter
+public final class JwtToken {
+    private final String token;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    public JwtToken(String token, Date issuedAt, Date expiration) {
+        this.token = token;
+        this.issuedAt = new Date(issuedAt.getTime());
+        this.expiration = new Date(expiration.getTime());
+    }
+
+    public Date getIssuedAt() {
+        return new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return new Date(expiration.getTime());
+    }
+
+    @Override
+    public String toString() {
+        return "JwtToken{issuedAt=" + issuedAt + ", expiration=" + expiration + "}";
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.sql.Date;
 import java.time.LocalDateTime;
 
@@ -31,7 +32,7 @@ import lombok.Setter;
 @NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
 @Setter
 @Entity
-@Table(name = "netflix_shows")
+@Table(name = "netflix_shows") // The partial index of the non-deleted shows is created in import.sql
 public class NetflixShows {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -91,4 +92,9 @@ public class NetflixShows {
 
     @Column(name = "deleted_at", columnDefinition = "timestamp with time zone")
     private LocalDateTime deletedAt;
+
+    // Incremented by every update; used for optimistic locking and as the ETag of the show
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -1,12 +1,15 @@
 package com.yoanesber.backend.jwt_auth_demo.entity;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.MapsId;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.Instant;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,6 +23,7 @@ import lombok.Setter;
  * The @NoArgsConstructor and @AllArgsConstructor annotations are used to create constructors for the class.
  * The @Entity annotation indicates that this class is a JPA entity.
  * The @Table annotation specifies the name of the table in the database.
+ * Only the SHA-256 digest of the token is stored; the raw token exists only on a newly created instance.
  */
 
 @AllArgsConstructor // Helps create DTO objects easily (useful when converting from entities).
@@ -28,21 +32,36 @@ import lombok.Setter;
 @NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
 @Setter
 @Entity
-@Table(name = "refresh_token")
+@Table(name = "refresh_token", indexes = {
+    // Point lookups of a refresh token by its digest
+    @Index(name = "ux_refresh_token_token_hash", columnList = "token_hash", unique = true),
+    // Oldest-first scan of expired tokens by the refresh token reaper
+    @Index(name = "ix_refresh_token_expiry_date", columnList = "expiry_date")
+})
 public class RefreshToken {
-    @EmbeddedId
-    private RefreshTokenId id;
+    // One refresh token per user, so the user id is the primary key (and the conflict target of the rotation upsert)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // SHA-256 digest of the token (32 bytes)
+    @Column(name = "token_hash", nullable = false, length = 32)
+    private byte[] tokenHash;
 
     @Column(nullable = false)
     private Instant expiryDate;
     
-    @OneToOne
-    @MapsId("userId")
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
     @JoinColumn(name = "user_id")
     private User user;
 
+    // Raw token returned to the client; never persisted
+    @Transient
+    private String token;
+
     @Override
     public String toString() {
-        return "RefreshToken [id=" + id + ", expiryDate=" + expiryDate + "]";
+        return "RefreshToken [userId=" + userId + ", expiryDate=" + expiryDate + "]";
     }
 }
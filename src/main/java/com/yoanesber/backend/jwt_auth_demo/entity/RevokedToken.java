@@ -0,0 +1,49 @@
+package com.yoanesber.backend.jwt_auth_demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * RevokedToken is an entity class that represents a revoked access token in the database.
+ * The @Data annotation from Lombok generates getters, setters, equals, hashCode, and toString methods.
+ * The @Entity annotation indicates that this class is a JPA entity.
+ * A row is kept until the token expires, so that every node can rebuild its in-memory revocation list from it.
+ */
+
+@AllArgsConstructor
+@Data
+@Getter
+@NoArgsConstructor
+@Setter
+@Entity
+@Table(name = "revoked_token", indexes = {
+    // Oldest-first scan of expired revocations by the purge
+    @Index(name = "ix_revoked_token_expiry_date", columnList = "expiry_date"),
+    // Incremental loading of the revocations made by other nodes
+    @Index(name = "ix_revoked_token_revoked_at", columnList = "revoked_at")
+})
+public class RevokedToken {
+    // The jti claim of the revoked access token
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    // The exp claim of the token; the revocation is no longer needed after it
+    @Column(name = "expiry_date", nullable = false)
+    private Instant expiryDate;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
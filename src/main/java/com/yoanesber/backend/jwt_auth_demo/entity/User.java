@@ -138,6 +138,24 @@ public class User {
                 .toList();
     }
 
+    // Mapping constructor to create a detached User from the claims of a verified JWT.
+    // The account flags are set to true because the token is only issued for an active account.
+    public User(VerifiedJwtClaim claim) {
+        this.id = claim.getUserId();
+        this.userName = claim.getUserName();
+        this.email = claim.getEmail();
+        this.firstName = claim.getFirstName();
+        this.lastName = claim.getLastName();
+        this.isEnabled = true;
+        this.isAccountNonExpired = true;
+        this.isAccountNonLocked = true;
+        this.isCredentialsNonExpired = true;
+        this.userType = claim.getUserType() != null ? EUserType.valueOf(claim.getUserType()) : null;
+        this.roles = claim.getRoles().stream()
+                .map(Role::new)
+                .toList();
+    }
+
     @Override
     public String toString() {
         return "User [id=" + id + ", userName=" + userName + ", password=" + password + ", email=" + email
@@ -0,0 +1,65 @@
+package com.yoanesber.backend.jwt_auth_demo.entity;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * VerifiedJwtClaim is an immutable view of the claims of a JWT whose signature has already been verified.
+ * It is produced once per request by JwtUtil.verifyToken so that callers can read the subject,
+ * the user claims, the token id (jti) and the expiration without parsing or verifying the token again.
+ */
+
+@Getter
+public final class VerifiedJwtClaim {
+    private final String tokenId;
+    private final Long userId;
+    private final String userName;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final String userType;
+    private final List<String> roles;
+    private final String issuer;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    public VerifiedJwtClaim(String tokenId, Long userId, String userName, String email, String firstName, String lastName,
+        String userType, List<String> roles, String issuer, Date issuedAt, Date expiration) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.userName = userName;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.userType = userType;
+        this.roles = roles != null ? List.copyOf(roles) : List.of();
+        this.issuer = issuer;
+        this.issuedAt = issuedAt != null ? new Date(issuedAt.getTime()) : null;
+        this.expiration = expiration != null ? new Date(expiration.getTime()) : null;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt != null ? new Date(issuedAt.getTime()) : null;
+    }
+
+    public Date getExpiration() {
+        return expiration != null ? new Date(expiration.getTime()) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedJwtClaim{" +
+                "tokenId='" + tokenId + '\'' +
+                ", userId=" + userId +
+                ", userName='" + userName + '\'' +
+                ", email='" + email + '\'' +
+                ", userType='" + userType + '\'' +
+                ", roles=" + roles +
+                ", issuer='" + issuer + '\'' +
+                ", issuedAt=" + issuedAt +
+                ", expiration=" + expiration +
+                '}';
+    }
+}
@@ -28,13 +28,16 @@ public class CustomAuthExceptionHandler implements AuthenticationEntryPoint {
         HttpServletResponse response, 
         AuthenticationException authException) throws IOException, ServletException {
 
-        // Check if the request method is POST and the Content-Type is not application/json
-        // If the Content-Type is not application/json, send an error response
+        // Check if the request method is POST, PUT or PATCH and the Content-Type is not application/json
+        // (or application/x-ndjson, which is accepted for bulk requests)
+        // If the Content-Type is not supported, send an error response
         String contentType = request.getContentType();
-        if ((request.getMethod().equals("POST") || request.getMethod().equals("PUT")) && 
-            (contentType == null || !contentType.equals(MediaType.APPLICATION_JSON_VALUE))) {
+        if ((request.getMethod().equals("POST") || request.getMethod().equals("PUT") || 
+            request.getMethod().equals("PATCH")) && 
+            (contentType == null || (!contentType.equals(MediaType.APPLICATION_JSON_VALUE) && 
+            !contentType.equals(MediaType.APPLICATION_NDJSON_VALUE)))) {
             ResponseUtil.buildResponse(request, response, HttpStatus.UNSUPPORTED_MEDIA_TYPE, 
-                "Unsupported Media Type", "Content-Type must be application/json", null);
+                "Unsupported Media Type", "Content-Type must be application/json or application/x-ndjson", null);
             return;
         }
 
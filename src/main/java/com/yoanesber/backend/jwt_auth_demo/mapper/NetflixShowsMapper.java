@@ -33,7 +33,9 @@ public class NetflixShowsMapper {
                 netflixShows.getRating(),
                 netflixShows.getDuration(),
                 netflixShows.getListedIn(),
-                netflixShows.getDescription()
+                netflixShows.getDescription(),
+                netflixShows.getUpdatedAt() != null ? netflixShows.getUpdatedAt() : netflixShows.getCreatedAt(),
+                netflixShows.getVersion()
         );
     }
 
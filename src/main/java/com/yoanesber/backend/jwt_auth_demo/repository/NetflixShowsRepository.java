@@ -1,11 +1,20 @@
 package com.yoanesber.backend.jwt_auth_demo.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.yoanesber.backend.jwt_auth_demo.entity.NetflixShows;
 
@@ -16,11 +25,33 @@ import com.yoanesber.backend.jwt_auth_demo.entity.NetflixShows;
  */
 
 @Repository
-public interface NetflixShowsRepository extends JpaRepository<NetflixShows, Long> {
+public interface NetflixShowsRepository extends JpaRepository<NetflixShows, Long>, NetflixShowsSearchRepository {
     List<NetflixShows> findAllByIsDeletedFalse(Sort sort);
 
     NetflixShows findByIdAndIsDeletedFalse(Long id);
 
+    boolean existsByIdAndIsDeletedFalse(Long id);
+
+    // Keyset pagination: the next page of non-deleted shows after the given id, using the partial index on id
+    List<NetflixShows> findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Forward-only cursor over all non-deleted shows for the export; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT n FROM NetflixShows n WHERE n.isDeleted = false ORDER BY n.id")
+    Stream<NetflixShows> streamAllByIsDeletedFalse();
+
+    // Soft delete of a single show in one statement; returns the number of deleted rows (0 if not found or already deleted)
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE netflix_shows SET is_deleted = true, deleted_by = :deletedBy, deleted_at = :deletedAt, " +
+        "version = version + 1 WHERE id = :id AND is_deleted = false",
+        nativeQuery = true)
+    int softDeleteById(Long id, Long deletedBy, LocalDateTime deletedAt);
+
     @Override
     default List<NetflixShows> findAll(Sort sort) {
         // Add where clause to filter by isDeleted = false
@@ -0,0 +1,15 @@
+package com.yoanesber.backend.jwt_auth_demo.repository;
+
+import java.util.List;
+
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchCriteriaDTO;
+import com.yoanesber.backend.jwt_auth_demo.entity.NetflixShows;
+
+/**
+ * NetflixShowsSearchRepository is a custom repository fragment for the full-text search over Netflix shows.
+ * It is implemented by NetflixShowsSearchRepositoryImpl and mixed into NetflixShowsRepository.
+ */
+public interface NetflixShowsSearchRepository {
+    // Search the non-deleted shows, most relevant first
+    List<NetflixShows> search(NetflixShowsSearchCriteriaDTO criteria, int limit, int offset);
+}
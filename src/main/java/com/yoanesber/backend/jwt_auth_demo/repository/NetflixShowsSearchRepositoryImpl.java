@@ -0,0 +1,84 @@
+package com.yoanesber.backend.jwt_auth_demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchCriteriaDTO;
+import com.yoanesber.backend.jwt_auth_demo.entity.NetflixShows;
+
+/**
+ * NetflixShowsSearchRepositoryImpl runs the full-text search as a native PostgreSQL query.
+ * The query matches the generated search_vector column (see import.sql) through its GIN index,
+ * ranks the matches with ts_rank_cd and adds only the filters that are set, so that the planner
+ * always sees the simplest possible query.
+ */
+public class NetflixShowsSearchRepositoryImpl implements NetflixShowsSearchRepository {
+    // Columns of the NetflixShows entity (search_vector is not mapped and is never read)
+    static final String SELECT_COLUMNS = "n.id, n.\"type\", n.title, n.director, n.cast_members, n.country, " +
+        "n.date_added, n.release_year, n.rating, n.duration, n.listed_in, n.description, n.is_deleted, " +
+        "n.created_by, n.created_at, n.updated_by, n.updated_at, n.deleted_by, n.deleted_at, n.version";
+
+    private final EntityManager entityManager;
+
+    public NetflixShowsSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<NetflixShows> search(NetflixShowsSearchCriteriaDTO criteria, int limit, int offset) {
+        List<Object> parameters = new ArrayList<>();
+        Query query = entityManager.createNativeQuery(buildSearchQuery(criteria, limit, offset, parameters), 
+            NetflixShows.class);
+
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+
+        return query.getResultList();
+    }
+
+    // Build the search query with JDBC-style parameters, which are added to the given list in order
+    static String buildSearchQuery(NetflixShowsSearchCriteriaDTO criteria, int limit, int offset, List<Object> parameters) {
+        StringBuilder sql = new StringBuilder(512)
+            .append("SELECT ").append(SELECT_COLUMNS)
+            .append(" FROM netflix_shows n CROSS JOIN websearch_to_tsquery('english', ?) AS q")
+            .append(" WHERE n.is_deleted = false AND n.search_vector @@ q");
+        parameters.add(criteria.getQuery());
+
+        // Optional filters
+        if (criteria.getShowType() != null) {
+            sql.append(" AND n.\"type\" = ?");
+            parameters.add(criteria.getShowType());
+        }
+
+        if (criteria.getReleaseYear() != null) {
+            sql.append(" AND n.release_year = ?");
+            parameters.add(criteria.getReleaseYear());
+        }
+
+        if (criteria.getCountry() != null) {
+            // A show can have several comma-separated countries
+            sql.append(" AND n.country ILIKE ?");
+            parameters.add("%" + escapeLike(criteria.getCountry()) + "%");
+        }
+
+        if (criteria.getRating() != null) {
+            sql.append(" AND n.rating = ?");
+            parameters.add(criteria.getRating());
+        }
+
+        // Most relevant first, with the id as a stable tie-breaker for pagination
+        sql.append(" ORDER BY ts_rank_cd(n.search_vector, q) DESC, n.id LIMIT ? OFFSET ?");
+        parameters.add(limit);
+        parameters.add(offset);
+
+        return sql.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,13 +1,15 @@
 package com.yoanesber.backend.jwt_auth_demo.repository;
 
+import java.time.Instant;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.yoanesber.backend.jwt_auth_demo.entity.RefreshToken;
-import com.yoanesber.backend.jwt_auth_demo.entity.RefreshTokenId;
 
 /**
  * RefreshTokenRepository is a Spring Data JPA repository interface for the RefreshToken entity.
@@ -16,15 +18,19 @@ import com.yoanesber.backend.jwt_auth_demo.entity.RefreshTokenId;
  */
 
 @Repository
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, RefreshTokenId> {
-    // Find a refresh token by its token
-    Optional<RefreshToken> findByIdToken(String token);
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // Find a refresh token by the digest of its token, without the user
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
-    // Find a refresh token by its user id
-    RefreshToken findByUserId(Long userId);
+    // Find a refresh token by the digest of its token, fetching the user and its roles in the same query
+    @EntityGraph(attributePaths = {"user", "user.roles"})
+    Optional<RefreshToken> findWithUserByTokenHash(byte[] tokenHash);
 
-    // Delete a refresh token by its user id
-    @Modifying(clearAutomatically = true, flushAutomatically = true) // Clear and flush the entity manager after the query
-    @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
-    int deleteByIdUserId(Long userId);
+    // Insert the refresh token of the user or replace the existing one in a single atomic statement
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO refresh_token (user_id, token_hash, expiry_date) VALUES (:userId, :tokenHash, :expiryDate) " +
+        "ON CONFLICT (user_id) DO UPDATE SET token_hash = EXCLUDED.token_hash, expiry_date = EXCLUDED.expiry_date",
+        nativeQuery = true)
+    int upsertByUserId(Long userId, byte[] tokenHash, Instant expiryDate);
 }
@@ -0,0 +1,27 @@
+package com.yoanesber.backend.jwt_auth_demo.repository;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.yoanesber.backend.jwt_auth_demo.entity.RevokedToken;
+
+/**
+ * RevokedTokenRepository is a Spring Data JPA repository interface for the RevokedToken entity.
+ * It extends JpaRepository, which provides CRUD operations and pagination support.
+ * The @Repository annotation indicates that this interface is a Spring Data repository.
+ */
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    // Insert the revocation unless the token is already revoked, in a single statement
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_token (token_id, user_id, expiry_date, revoked_at) " +
+        "VALUES (:tokenId, :userId, :expiryDate, :revokedAt) ON CONFLICT (token_id) DO NOTHING",
+        nativeQuery = true)
+    int insertIfAbsent(String tokenId, Long userId, Instant expiryDate, Instant revokedAt);
+}
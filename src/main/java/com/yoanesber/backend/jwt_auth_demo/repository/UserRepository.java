@@ -1,6 +1,7 @@
 package com.yoanesber.backend.jwt_auth_demo.repository;
 
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -17,6 +18,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find a user by its username
     Optional<User> findByUserName(String userName);
 
+    // Find a user by its username with its roles and refresh token fetched in the same query
+    @EntityGraph(attributePaths = {"roles", "refreshToken"})
+    Optional<User> findWithRolesByUserName(String userName);
+
     // Check if a user exists by its username
     Boolean existsByUserName(String userName);
 
@@ -0,0 +1,54 @@
+package com.yoanesber.backend.jwt_auth_demo.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKeyMaterial;
+
+/**
+ * JwtKeyReloader periodically checks jwt.key-directory and reloads the JWT keyring when its files change,
+ * so keys can be added, activated and retired without a restart.
+ * A keyring that fails to load is logged and the previous keyring stays in use.
+ */
+@Component
+public class JwtKeyReloader {
+    private final MeterRegistry meterRegistry;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${jwt.key-reload.enabled:true}")
+    private boolean enabled;
+
+    public JwtKeyReloader(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("jwt.keyring.reloads", JwtKeyMaterial::getReloadCount).register(meterRegistry);
+        Gauge.builder("jwt.keyring.reload.failures", JwtKeyMaterial::getReloadFailureCount).register(meterRegistry);
+        Gauge.builder("jwt.keyring.keys", () -> JwtKeyMaterial.getStaticVerificationKeys().size()).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-reload.interval-ms:60000}",
+        initialDelayString = "${jwt.key-reload.interval-ms:60000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (JwtKeyMaterial.reloadIfChanged()) {
+                logger.info("JWT keyring reloaded from the key directory");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reload the JWT keyring, keeping the current keys: " + e.getMessage());
+        }
+    }
+}
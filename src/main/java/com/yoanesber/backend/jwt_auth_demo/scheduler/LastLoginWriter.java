@@ -0,0 +1,208 @@
+package com.yoanesber.backend.jwt_auth_demo.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.yoanesber.backend.jwt_auth_demo.cache.UserDetailsCache;
+
+/**
+ * LastLoginWriter queues last-login updates in memory and writes them to the users table in the background.
+ * Updates are coalesced per user (only the latest login time is kept), and each flush writes up to
+ * batch-size users with a single bulk UPDATE statement, so a login storm does not become a write storm.
+ * The queue is bounded; when it is full (or the writer is disabled) callers write the update directly.
+ * Pending updates are drained when the application shuts down.
+ */
+@Component
+public class LastLoginWriter {
+    // Bulk update of the last login of many users in one statement, never moving last_login backwards
+    private static final String BULK_UPDATE_SQL = """
+        UPDATE users AS u
+        SET last_login = to_timestamp(v.epoch_ms / 1000.0)
+        FROM unnest(?::varchar[], ?::bigint[]) AS v(username, epoch_ms)
+        WHERE u.username = v.username
+        AND (u.last_login IS NULL OR u.last_login < to_timestamp(v.epoch_ms / 1000.0))
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserDetailsCache userDetailsCache;
+    private final MeterRegistry meterRegistry;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    // Pending last-login time per username
+    private final ConcurrentHashMap<String, Instant> pending = new ConcurrentHashMap<>();
+
+    // Number of users in the queue, reserved inside compute so that concurrent logins cannot exceed the capacity
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    @Value("${last-login-writer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${last-login-writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${last-login-writer.batch-size:500}")
+    private int batchSize;
+
+    private Counter enqueuedCounter;
+    private Counter coalescedCounter;
+    private Counter overflowCounter;
+    private Counter writtenCounter;
+    private Counter failureCounter;
+    private Timer flushTimer;
+
+    public LastLoginWriter(JdbcTemplate jdbcTemplate, UserDetailsCache userDetailsCache, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userDetailsCache = userDetailsCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        enqueuedCounter = meterRegistry.counter("last.login.enqueued");
+        coalescedCounter = meterRegistry.counter("last.login.coalesced");
+        overflowCounter = meterRegistry.counter("last.login.overflow");
+        writtenCounter = meterRegistry.counter("last.login.written");
+        failureCounter = meterRegistry.counter("last.login.flush.failures");
+        flushTimer = meterRegistry.timer("last.login.flush");
+        meterRegistry.gaugeMapSize("last.login.pending", List.of(), pending);
+    }
+
+    // Queue the last login of the user, returning false if the caller must write it directly
+    public boolean enqueue(String userName, Instant lastLogin) {
+        if (!enabled) {
+            return false;
+        }
+
+        // Decide atomically per user: a queued user is coalesced (keeping only the latest login time),
+        // a new user takes a slot in the queue or is rejected when the queue is full
+        Outcome[] outcome = new Outcome[1];
+        pending.compute(userName, (key, current) -> {
+            if (current != null) {
+                outcome[0] = Outcome.COALESCED;
+                return current.isAfter(lastLogin) ? current : lastLogin;
+            }
+
+            if (pendingCount.incrementAndGet() > queueCapacity) {
+                pendingCount.decrementAndGet();
+                outcome[0] = Outcome.OVERFLOW;
+                return null;
+            }
+
+            outcome[0] = Outcome.ENQUEUED;
+            return lastLogin;
+        });
+
+        switch (outcome[0]) {
+            case COALESCED -> coalescedCounter.increment();
+            case ENQUEUED -> enqueuedCounter.increment();
+            case OVERFLOW -> {
+                overflowCounter.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Write the last login of a single user immediately and return the number of updated rows.
+    // The transaction binds the connection that the request already holds (open-in-view) to the JdbcTemplate;
+    // without it every login would take a second connection, and a burst of logins could exhaust the pool
+    @Transactional
+    public int write(String userName, Instant lastLogin) {
+        int updated = update(List.of(userName), List.of(lastLogin.toEpochMilli()));
+        writtenCounter.increment(updated);
+        return updated;
+    }
+
+    // Flush the pending updates in batches
+    @Scheduled(fixedDelayString = "${last-login-writer.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        flushTimer.record(() -> {
+            List<String> userNames = new ArrayList<>(batchSize);
+            List<Long> lastLogins = new ArrayList<>(batchSize);
+
+            for (Map.Entry<String, Instant> entry : pending.entrySet()) {
+                // Only take the entry if it has not been replaced by a newer login in the meantime
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    pendingCount.decrementAndGet();
+                    userNames.add(entry.getKey());
+                    lastLogins.add(entry.getValue().toEpochMilli());
+                }
+
+                if (userNames.size() >= batchSize) {
+                    writeBatch(userNames, lastLogins);
+                    userNames.clear();
+                    lastLogins.clear();
+                }
+            }
+
+            if (!userNames.isEmpty()) {
+                writeBatch(userNames, lastLogins);
+            }
+        });
+    }
+
+    // Drain the queue before the application shuts down
+    @PreDestroy
+    public void drain() {
+        logger.info("Draining " + pending.size() + " pending last-login updates");
+        flush();
+    }
+
+    private void writeBatch(List<String> userNames, List<Long> lastLogins) {
+        try {
+            writtenCounter.increment(update(userNames, lastLogins));
+
+            // Evict the cached user details of the updated users
+            userNames.forEach(userDetailsCache::evict);
+        } catch (Exception e) {
+            failureCounter.increment();
+            logger.error("Failed to write " + userNames.size() + " last-login updates: " + e.getMessage());
+
+            // Put the batch back so that it is retried on the next flush, unless a newer login was queued
+            // (these updates were already accepted, so they may take the queue over its capacity)
+            for (int i = 0; i < userNames.size(); i++) {
+                Instant failed = Instant.ofEpochMilli(lastLogins.get(i));
+                pending.compute(userNames.get(i), (key, current) -> {
+                    if (current == null) {
+                        pendingCount.incrementAndGet();
+                        return failed;
+                    }
+                    return current.isAfter(failed) ? current : failed;
+                });
+            }
+        }
+    }
+
+    private enum Outcome { ENQUEUED, COALESCED, OVERFLOW }
+
+    private int update(List<String> userNames, List<Long> lastLogins) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(BULK_UPDATE_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", userNames.toArray()));
+            ps.setArray(2, con.createArrayOf("bigint", lastLogins.toArray()));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.yoanesber.backend.jwt_auth_demo.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * RefreshTokenReaper periodically deletes expired refresh tokens in bounded chunks.
+ * Each chunk walks the expiry_date index from the oldest token and is its own short statement, rows locked by a
+ * concurrent login or refresh are skipped rather than waited for, and a cycle stops after max-runtime-ms,
+ * so the purge never holds long-running locks on the table.
+ */
+@Component
+public class RefreshTokenReaper {
+    // Delete one chunk of the oldest expired tokens, skipping rows that are locked by a rotation in progress
+    private static final String DELETE_EXPIRED_SQL = """
+        DELETE FROM refresh_token
+        WHERE user_id IN (
+            SELECT user_id FROM refresh_token
+            WHERE expiry_date < ?
+            ORDER BY expiry_date
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        )
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${refresh-token-reaper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${refresh-token-reaper.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${refresh-token-reaper.pause-ms:100}")
+    private long pauseMs;
+
+    @Value("${refresh-token-reaper.max-runtime-ms:30000}")
+    private long maxRuntimeMs;
+
+    private Counter deletedCounter;
+    private Counter failureCounter;
+    private Timer cycleTimer;
+
+    public RefreshTokenReaper(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        deletedCounter = meterRegistry.counter("refresh.token.reaper.deleted");
+        failureCounter = meterRegistry.counter("refresh.token.reaper.failures");
+        cycleTimer = meterRegistry.timer("refresh.token.reaper.cycle");
+    }
+
+    // Delete the tokens that expired before the start of the cycle, chunk by chunk
+    @Scheduled(fixedDelayString = "${refresh-token-reaper.interval-ms:600000}",
+        initialDelayString = "${refresh-token-reaper.initial-delay-ms:60000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+
+        cycleTimer.record(() -> {
+            Timestamp cutoff = Timestamp.from(Instant.now());
+            long deadline = System.currentTimeMillis() + maxRuntimeMs;
+            long total = 0;
+
+            try {
+                while (true) {
+                    int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, cutoff, batchSize);
+                    deletedCounter.increment(deleted);
+                    total += deleted;
+
+                    // A partial chunk means nothing is left to delete (apart from locked rows)
+                    if (deleted < batchSize || System.currentTimeMillis() >= deadline) {
+                        break;
+                    }
+
+                    Thread.sleep(pauseMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                failureCounter.increment();
+                logger.error("Failed to purge expired refresh tokens: " + e.getMessage());
+            }
+
+            if (total > 0) {
+                logger.info("Purged " + total + " expired refresh tokens");
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.yoanesber.backend.jwt_auth_demo.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.yoanesber.backend.jwt_auth_demo.service.TokenRevocationService;
+
+/**
+ * RevokedTokenSynchronizer periodically loads the access tokens revoked on other nodes into the revocation list
+ * of this node, and drops the revocations of tokens that have expired in the meantime.
+ * A failed cycle is logged and retried on the next one; the current revocation list stays in use.
+ */
+@Component
+public class RevokedTokenSynchronizer {
+    private final TokenRevocationService tokenRevocationService;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${revoked-token-sync.enabled:true}")
+    private boolean enabled;
+
+    public RevokedTokenSynchronizer(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Scheduled(fixedDelayString = "${revoked-token-sync.interval-ms:5000}",
+        initialDelayString = "${revoked-token-sync.interval-ms:5000}")
+    public void synchronize() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            int added = tokenRevocationService.synchronize();
+            if (added > 0) {
+                logger.info("Loaded " + added + " tokens revoked on other nodes");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load revoked tokens: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${revoked-token-sync.purge-interval-ms:600000}",
+        initialDelayString = "${revoked-token-sync.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            int removed = tokenRevocationService.purgeExpired();
+            if (removed > 0) {
+                logger.info("Purged " + removed + " revocations of expired tokens");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to purge revocations of expired tokens: " + e.getMessage());
+        }
+    }
+}
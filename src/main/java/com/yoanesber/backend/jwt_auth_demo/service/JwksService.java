@@ -0,0 +1,8 @@
+package com.yoanesber.backend.jwt_auth_demo.service;
+
+import com.yoanesber.backend.jwt_auth_demo.entity.JwkSet;
+
+public interface JwksService {
+    // to get the JSON Web Key Set of the current keyring
+    JwkSet getJwks();
+}
@@ -1,22 +1,48 @@
 package com.yoanesber.backend.jwt_auth_demo.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-
+import java.util.Map;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsBulkDeleteDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsBulkResultDTO;
 import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsPageDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchCriteriaDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchPageDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsVersionDTO;
 
 public interface NetflixShowsService {
     // Create NetflixShows
     NetflixShowsDTO createNetflixShows(NetflixShowsDTO netflixShowsDTO);
 
-    // Get all NetflixShows
-    List<NetflixShowsDTO> getAllNetflixShows();
+    // Create (without id) or update (with id) many NetflixShows at once and return the result of each item
+    List<NetflixShowsBulkResultDTO> bulkSaveNetflixShows(List<NetflixShowsDTO> netflixShowsDTOs);
+
+    // Get a page of NetflixShows after the given cursor
+    NetflixShowsPageDTO getNetflixShowsPage(String after, int limit);
+
+    // Export all NetflixShows as newline-delimited JSON and return the number of exported records
+    long exportNetflixShows(OutputStream outputStream) throws IOException;
+
+    // Get the version of the whole catalogue (count and last modification)
+    NetflixShowsVersionDTO getNetflixShowsVersion();
+
+    // Search NetflixShows by relevance, with optional filters
+    NetflixShowsSearchPageDTO searchNetflixShows(NetflixShowsSearchCriteriaDTO criteria, int limit, int offset);
 
     // Get NetflixShows by id
     NetflixShowsDTO getNetflixShowsById(Long id);
 
-    // Update NetflixShows
-    NetflixShowsDTO updateNetflixShows(Long id, NetflixShowsDTO netflixShowsDTO);
+    // Update NetflixShows, only if it is still at the expected version (null to skip the check)
+    NetflixShowsDTO updateNetflixShows(Long id, NetflixShowsDTO netflixShowsDTO, Long expectedVersion);
+
+    // Update only the given fields of NetflixShows, only if it is still at the expected version (null to skip the check)
+    NetflixShowsDTO patchNetflixShows(Long id, Map<String, Object> changes, Long expectedVersion);
 
     // Delete NetflixShows
     Boolean deleteNetflixShows(Long id);
+
+    // Delete the NetflixShows selected by id and/or filter at once and return the ids of the deleted NetflixShows
+    List<Long> bulkDeleteNetflixShows(NetflixShowsBulkDeleteDTO netflixShowsBulkDeleteDTO);
 }
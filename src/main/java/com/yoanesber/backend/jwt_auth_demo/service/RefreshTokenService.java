@@ -8,9 +8,15 @@ public interface RefreshTokenService {
     // to find refresh token by token
     Optional<RefreshToken> findByToken(String token);
 
+    // to find refresh token by token together with its user
+    Optional<RefreshToken> findByTokenWithUser(String token);
+
     // to create refresh token
     RefreshToken createRefreshToken(Long userId);
 
     // to verify expiration of refresh token
     Boolean isTokenExpired(RefreshToken token);
+
+    // to delete the refresh token of a user
+    void deleteByUserId(Long userId);
 }
@@ -0,0 +1,14 @@
+package com.yoanesber.backend.jwt_auth_demo.service;
+
+import com.yoanesber.backend.jwt_auth_demo.entity.VerifiedJwtClaim;
+
+public interface TokenRevocationService {
+    // to revoke an access token until it expires
+    void revoke(String jwtToken, VerifiedJwtClaim claim);
+
+    // to load the revocations made by other nodes since the last synchronization
+    int synchronize();
+
+    // to drop the revocations of expired tokens
+    int purgeExpired();
+}
@@ -1,12 +1,11 @@
 package com.yoanesber.backend.jwt_auth_demo.service.impl;
 
-import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import com.yoanesber.backend.jwt_auth_demo.cache.UserDetailsCache;
 import com.yoanesber.backend.jwt_auth_demo.entity.CustomUserDetails;
 import com.yoanesber.backend.jwt_auth_demo.entity.User;
 import com.yoanesber.backend.jwt_auth_demo.repository.UserRepository;
@@ -15,6 +14,8 @@ import com.yoanesber.backend.jwt_auth_demo.service.CustomUserDetailsService;
 /**
  * CustomUserDetailsServiceImpl is a service class that implements the CustomUserDetailsService interface.
  * It provides methods to load user details from the database using the UserRepository.
+ * Loaded user details are kept in the UserDetailsCache, so repeated lookups of the same user
+ * do not open a transaction or query the database until the entry expires or is evicted.
  * The @Service annotation indicates that this class is a Spring service component.
  */
 
@@ -22,26 +23,29 @@ import com.yoanesber.backend.jwt_auth_demo.service.CustomUserDetailsService;
 public class CustomUserDetailsServiceImpl implements CustomUserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
-    public CustomUserDetailsServiceImpl(UserRepository userRepository) {
+    public CustomUserDetailsServiceImpl(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     // Load a user by its username
     @Override
-    @Transactional // Enable transaction management 
     public UserDetails loadUserByUsername(String userName) {
         // Check if the username is not null
         Assert.notNull(userName, "Username must not be null");
-        
-        // Find a user by its username
-        User user = userRepository.findByUserName(userName).orElse(null);
+
+        // Get the user from the cache or load it from the database
+        return userDetailsCache.get(userName, this::loadFromDatabase);
+    }
+
+    private CustomUserDetails loadFromDatabase(String userName) {
+        // Find a user by its username, fetching its roles in the same query
+        User user = userRepository.findWithRolesByUserName(userName).orElse(null);
 
         // Check if the user exists
         if (user != null) {
-            // Initialize the lazy-loaded roles collection
-            Hibernate.initialize(user.getRoles());
-
             // Return the user
             return CustomUserDetails.build(user);
         } else {
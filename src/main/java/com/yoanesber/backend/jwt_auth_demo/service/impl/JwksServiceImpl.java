@@ -0,0 +1,112 @@
+package com.yoanesber.backend.jwt_auth_demo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKey;
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKeyMaterial;
+import com.yoanesber.backend.jwt_auth_demo.entity.JwkSet;
+import com.yoanesber.backend.jwt_auth_demo.service.JwksService;
+import com.yoanesber.backend.jwt_auth_demo.util.ETagUtil;
+
+/**
+ * JwksServiceImpl is a service class that implements the JwksService interface.
+ * It publishes the public verification keys (RSA and EC) of the JwtKeyMaterial keyring as a JSON Web Key Set
+ * (RFC 7517), serialized once and rebuilt only when the keyring is reloaded. HMAC secrets are never published.
+ * The @Service annotation indicates that this class is a Spring service component.
+ */
+
+@Service
+public class JwksServiceImpl implements JwksService {
+    private final ObjectMapper objectMapper;
+
+    // The published key set and the keyring it was built from; the keyring's key map is replaced on every reload
+    private volatile Published published;
+
+    public JwksServiceImpl(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public JwkSet getJwks() {
+        Map<String, JwtKey> keys = JwtKeyMaterial.getStaticVerificationKeys();
+        Published current = published;
+        if (current == null || current.keys() != keys) {
+            current = new Published(keys, build(keys));
+            published = current;
+        }
+        return current.jwks();
+    }
+
+    private JwkSet build(Map<String, JwtKey> keys) {
+        // Sort by kid so that the same keyring always produces the same bytes and entity tag
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        keys.values().stream()
+            .sorted(Comparator.comparing(JwtKey::kid))
+            .filter(key -> key.verificationKey() instanceof RSAPublicKey || key.verificationKey() instanceof ECPublicKey)
+            .forEach(key -> jwks.add(toJwk(key)));
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", jwks));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new JwkSet(body,
+                ETagUtil.strong(Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16))),
+                jwks.size());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build the JSON Web Key Set: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(JwtKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (key.verificationKey() instanceof ECPublicKey publicKey) {
+            // P-256 coordinates are always 32 bytes long
+            int length = (publicKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("use", "sig");
+            jwk.put("alg", key.algorithm().getValue());
+            jwk.put("kid", key.kid());
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(publicKey.getW().getAffineX(), length));
+            jwk.put("y", base64Url(publicKey.getW().getAffineY(), length));
+        } else {
+            RSAPublicKey publicKey = (RSAPublicKey) key.verificationKey();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", key.algorithm().getValue());
+            jwk.put("kid", key.kid());
+            jwk.put("n", base64Url(publicKey.getModulus(), 0));
+            jwk.put("e", base64Url(publicKey.getPublicExponent(), 0));
+        }
+        return jwk;
+    }
+
+    // Base64url encoding of the unsigned big-endian value (without the sign byte of BigInteger),
+    // left-padded with zeros to the given length
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private record Published(Map<String, JwtKey> keys, JwkSet jwks) {
+    }
+}
@@ -1,18 +1,49 @@
 package com.yoanesber.backend.jwt_auth_demo.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import org.springframework.data.domain.Sort;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import com.yoanesber.backend.jwt_auth_demo.cache.NetflixShowsCache;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsBulkDeleteDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsBulkResultDTO;
 import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsPageDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchCriteriaDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchPageDTO;
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsVersionDTO;
 import com.yoanesber.backend.jwt_auth_demo.entity.EShowType;
 import com.yoanesber.backend.jwt_auth_demo.entity.NetflixShows;
 import com.yoanesber.backend.jwt_auth_demo.mapper.NetflixShowsMapper;
 import com.yoanesber.backend.jwt_auth_demo.repository.NetflixShowsRepository;
 import com.yoanesber.backend.jwt_auth_demo.service.NetflixShowsService;
+import com.yoanesber.backend.jwt_auth_demo.util.CursorUtil;
 import com.yoanesber.backend.jwt_auth_demo.util.SecurityUtil;
 
 /**
@@ -25,9 +56,75 @@ import com.yoanesber.backend.jwt_auth_demo.util.SecurityUtil;
 public class NetflixShowsServiceImpl implements NetflixShowsService {
     
     private final NetflixShowsRepository netflixShowsRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final NetflixShowsCache netflixShowsCache;
 
-    public NetflixShowsServiceImpl(NetflixShowsRepository netflixShowsRepository) {
+    // Number of exported records after which the output is flushed to the client
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+
+    // Reserve ids for new records from the identity sequence in a single round trip
+    private static final String RESERVE_IDS_SQL = """
+        SELECT nextval(pg_get_serial_sequence('netflix_shows', 'id')) FROM generate_series(1, ?)
+        """;
+
+    private static final String BULK_INSERT_SQL = """
+        INSERT INTO netflix_shows (id, "type", title, director, cast_members, country, date_added,
+            release_year, rating, duration, listed_in, description, created_by, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // Update of all data columns of a show, used by the bulk API and (with a version check) by PUT
+    private static final String UPDATE_SQL = """
+        UPDATE netflix_shows SET "type" = ?, title = ?, director = ?, cast_members = ?, country = ?, date_added = ?,
+            release_year = ?, rating = ?, duration = ?, listed_in = ?, description = ?, updated_by = ?, updated_at = ?,
+            version = version + 1
+        WHERE id = ? AND is_deleted = false
+        """;
+
+    // Columns returned by single updates, so that the new state is read in the same round trip
+    private static final String RETURNING_COLUMNS = """
+        RETURNING id, "type", title, director, cast_members, country, date_added, release_year, rating,
+            duration, listed_in, description, created_at, updated_at, version
+        """;
+
+    // Fields that can be changed by PATCH, with their column and SQL type
+    private static final Map<String, PatchableColumn> PATCHABLE_COLUMNS = Map.ofEntries(
+        Map.entry("showType", new PatchableColumn("\"type\"", Types.VARCHAR, true)),
+        Map.entry("title", new PatchableColumn("title", Types.VARCHAR, true)),
+        Map.entry("director", new PatchableColumn("director", Types.VARCHAR, false)),
+        Map.entry("castMembers", new PatchableColumn("cast_members", Types.VARCHAR, false)),
+        Map.entry("country", new PatchableColumn("country", Types.VARCHAR, false)),
+        Map.entry("dateAdded", new PatchableColumn("date_added", Types.DATE, true)),
+        Map.entry("releaseYear", new PatchableColumn("release_year", Types.INTEGER, true)),
+        Map.entry("rating", new PatchableColumn("rating", Types.VARCHAR, false)),
+        Map.entry("duration", new PatchableColumn("duration", Types.VARCHAR, false)),
+        Map.entry("listedIn", new PatchableColumn("listed_in", Types.VARCHAR, false)),
+        Map.entry("description", new PatchableColumn("description", Types.VARCHAR, false))
+    );
+
+    // Soft delete of many shows in one statement; the selection is appended and RETURNING id reports the deleted shows
+    private static final String BULK_DELETE_SQL = """
+        UPDATE netflix_shows SET is_deleted = true, deleted_by = ?, deleted_at = ?, version = version + 1
+        WHERE is_deleted = false""";
+
+    // Version of the whole catalogue, kept in a single row by a trigger on netflix_shows (see import.sql),
+    // so that it costs one primary-key lookup however many shows there are
+    private static final String VERSION_SQL =
+        "SELECT version, last_modified_at FROM netflix_shows_version WHERE id = 1";
+
+    @Value("${netflix-shows.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    public NetflixShowsServiceImpl(NetflixShowsRepository netflixShowsRepository,
+        EntityManager entityManager, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+        NetflixShowsCache netflixShowsCache) {
         this.netflixShowsRepository = netflixShowsRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.netflixShowsCache = netflixShowsCache;
     }
 
     @Override
@@ -51,80 +148,274 @@ public class NetflixShowsServiceImpl implements NetflixShowsService {
         netflixShows.setCreatedBy(SecurityUtil.getCurrentUserId());
         netflixShows.setCreatedAt(LocalDateTime.now());
 
-        // Save NetflixShows object & Return NetflixShowsDTO
-        return NetflixShowsMapper.toDTO(
+        // Save NetflixShows object
+        NetflixShowsDTO savedNetflixShows = NetflixShowsMapper.toDTO(
             netflixShowsRepository.save(netflixShows)
         );
+
+        // Cache the saved NetflixShows & Return NetflixShowsDTO
+        netflixShowsCache.put(savedNetflixShows);
+        return savedNetflixShows;
+    }
+
+    @Override
+    @Transactional
+    public List<NetflixShowsBulkResultDTO> bulkSaveNetflixShows(List<NetflixShowsDTO> netflixShowsDTOs) {
+        Assert.notNull(netflixShowsDTOs, "NetflixShowsDTOs must not be null");
+
+        NetflixShowsBulkResultDTO[] results = new NetflixShowsBulkResultDTO[netflixShowsDTOs.size()];
+        List<Integer> createIndexes = new ArrayList<>();
+        List<Integer> updateIndexes = new ArrayList<>();
+
+        // Validate every item and split the valid ones into creates and updates
+        for (int i = 0; i < netflixShowsDTOs.size(); i++) {
+            NetflixShowsDTO netflixShowsDTO = netflixShowsDTOs.get(i);
+            String error = validate(netflixShowsDTO);
+
+            if (error != null) {
+                Long id = netflixShowsDTO != null ? netflixShowsDTO.getId() : null;
+                results[i] = new NetflixShowsBulkResultDTO(i, id, NetflixShowsBulkResultDTO.STATUS_INVALID, error);
+            } else if (netflixShowsDTO.getId() == null) {
+                createIndexes.add(i);
+            } else {
+                updateIndexes.add(i);
+            }
+        }
+
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        if (!createIndexes.isEmpty()) {
+            // Reserve the ids up front so that the inserts can be sent as JDBC batches
+            List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, createIndexes.size());
+            Map<Integer, Long> idByIndex = new HashMap<>();
+            for (int i = 0; i < createIndexes.size(); i++) {
+                idByIndex.put(createIndexes.get(i), ids.get(i));
+            }
+
+            jdbcTemplate.batchUpdate(BULK_INSERT_SQL, createIndexes, bulkBatchSize, (ps, index) -> {
+                NetflixShowsDTO netflixShowsDTO = netflixShowsDTOs.get(index);
+                ps.setLong(1, idByIndex.get(index));
+                setColumns(ps, 2, netflixShowsDTO);
+                ps.setObject(13, currentUserId, Types.BIGINT);
+                ps.setTimestamp(14, now);
+            });
+
+            for (Integer index : createIndexes) {
+                results[index] = new NetflixShowsBulkResultDTO(index, idByIndex.get(index), 
+                    NetflixShowsBulkResultDTO.STATUS_CREATED, null);
+            }
+        }
+
+        if (!updateIndexes.isEmpty()) {
+            int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, updateIndexes, bulkBatchSize, (ps, index) -> {
+                NetflixShowsDTO netflixShowsDTO = netflixShowsDTOs.get(index);
+                setColumns(ps, 1, netflixShowsDTO);
+                ps.setObject(12, currentUserId, Types.BIGINT);
+                ps.setTimestamp(13, now);
+                ps.setLong(14, netflixShowsDTO.getId());
+            });
+
+            // A record that does not exist (or is deleted) is not updated
+            int position = 0;
+            for (int[] batch : updateCounts) {
+                for (int updateCount : batch) {
+                    Integer index = updateIndexes.get(position++);
+                    results[index] = new NetflixShowsBulkResultDTO(index, netflixShowsDTOs.get(index).getId(), 
+                        updateCount == 0 ? NetflixShowsBulkResultDTO.STATUS_NOT_FOUND : NetflixShowsBulkResultDTO.STATUS_UPDATED,
+                        updateCount == 0 ? "NetflixShows not found with ID: " + netflixShowsDTOs.get(index).getId() : null);
+                }
+            }
+        }
+
+        // Evict the created (possibly cached as missing) and updated NetflixShows
+        List<Long> savedIds = Arrays.stream(results)
+            .filter(result -> !NetflixShowsBulkResultDTO.STATUS_INVALID.equals(result.getStatus()))
+            .map(NetflixShowsBulkResultDTO::getId)
+            .toList();
+        if (!savedIds.isEmpty()) {
+            netflixShowsCache.evict(savedIds);
+        }
+
+        return Arrays.asList(results);
     }
 
     @Override
-    public List<NetflixShowsDTO> getAllNetflixShows() {
-        // Get all NetflixShows
+    @Transactional(readOnly = true)
+    public NetflixShowsPageDTO getNetflixShowsPage(String after, int limit) {
+        Assert.isTrue(limit > 0, "Limit must be greater than 0");
+
+        // Decode the cursor (throws IllegalArgumentException if it is invalid)
+        Long afterId = CursorUtil.decode(after);
+
+        // Fetch one extra row to know whether there is a next page
         List<NetflixShows> netflixShows = netflixShowsRepository
-            .findAll(Sort.by(Sort.Direction.ASC, "id"));
+            .findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit + 1));
 
-        // Check if the list is empty
-        if (netflixShows.isEmpty()) {
-            return null;
+        boolean hasNext = netflixShows.size() > limit;
+        if (hasNext) {
+            netflixShows = netflixShows.subList(0, limit);
         }
 
         // Convert NetflixShows to NetflixShowsDTO
-        return netflixShows.stream().map(
+        List<NetflixShowsDTO> items = netflixShows.stream().map(
             NetflixShowsMapper::toDTO
         ).toList();
+
+        String nextCursor = hasNext ? CursorUtil.encode(items.get(items.size() - 1).getId()) : null;
+        return new NetflixShowsPageDTO(items, nextCursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNetflixShows(OutputStream outputStream) throws IOException {
+        Assert.notNull(outputStream, "OutputStream must not be null");
+
+        long count = 0;
+
+        // Flush every EXPORT_FLUSH_INTERVAL rows rather than after every value, and put no separator
+        // before a value (the newline after each one ends the line)
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        // The generator must not close the output stream, which belongs to the caller
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+            Stream<NetflixShows> netflixShows = netflixShowsRepository.streamAllByIsDeletedFalse()) {
+            Iterator<NetflixShows> iterator = netflixShows.iterator();
+
+            while (iterator.hasNext()) {
+                NetflixShows netflixShow = iterator.next();
+
+                // Write one JSON object per line
+                writer.writeValue(generator, NetflixShowsMapper.toDTO(netflixShow));
+                generator.writeRaw('\n');
+
+                // Detach the entity so that the persistence context does not grow with the export
+                entityManager.detach(netflixShow);
+
+                // Flush regularly so that the client receives data and a cancelled request fails fast
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+
+            generator.flush();
+        }
+
+        return count;
+    }
+
+    @Override
+    public NetflixShowsVersionDTO getNetflixShowsVersion() {
+        return jdbcTemplate.queryForObject(VERSION_SQL, (rs, rowNum) -> {
+            Timestamp lastModifiedAt = rs.getTimestamp("last_modified_at");
+            return new NetflixShowsVersionDTO(rs.getLong("version"), 
+                lastModifiedAt != null ? lastModifiedAt.toLocalDateTime() : null);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NetflixShowsSearchPageDTO searchNetflixShows(NetflixShowsSearchCriteriaDTO criteria, int limit, int offset) {
+        Assert.notNull(criteria, "Criteria must not be null");
+        Assert.hasText(criteria.getQuery(), "Query must not be empty");
+        Assert.isTrue(limit > 0, "Limit must be greater than 0");
+        Assert.isTrue(offset >= 0, "Offset must not be negative");
+
+        // Fetch one extra row to know whether there is a next page
+        List<NetflixShows> netflixShows = netflixShowsRepository.search(criteria, limit + 1, offset);
+
+        boolean hasNext = netflixShows.size() > limit;
+        if (hasNext) {
+            netflixShows = netflixShows.subList(0, limit);
+        }
+
+        // Convert NetflixShows to NetflixShowsDTO
+        List<NetflixShowsDTO> items = netflixShows.stream().map(
+            NetflixShowsMapper::toDTO
+        ).toList();
+
+        return new NetflixShowsSearchPageDTO(items, limit, offset, hasNext ? offset + limit : null);
     }
 
     @Override
     public NetflixShowsDTO getNetflixShowsById(Long id) {
         Assert.notNull(id, "ID must not be null");
 
-        // Get NetflixShows by ID
-        NetflixShows netflixShows = netflixShowsRepository.findById(id)
-            .orElse(null);
+        // Get NetflixShows by ID from the cache, or from the database on a miss
+        return netflixShowsCache.get(id, key -> NetflixShowsMapper.toDTO(
+            netflixShowsRepository.findById(key).orElse(null)
+        ));
+    }
 
-        // Check if the NetflixShows is null
-        if (netflixShows == null) {
-            return null;
+    @Override
+    @Transactional
+    public NetflixShowsDTO updateNetflixShows(Long id, NetflixShowsDTO netflixShowsDTO, Long expectedVersion) {
+        Assert.notNull(netflixShowsDTO, "NetflixShowsDTO must not be null");
+        Assert.notNull(id, "ID must not be null");
+
+        // Validate the NetflixShowsDTO
+        String error = validate(netflixShowsDTO);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
 
-        // Return NetflixShowsDTO
-        return NetflixShowsMapper.toDTO(netflixShows);
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // Update the NetflixShows and read its new state in a single statement
+        List<NetflixShowsDTO> updatedNetflixShows = jdbcTemplate.query(
+            UPDATE_SQL + (expectedVersion != null ? " AND version = ?" : "") + " " + RETURNING_COLUMNS, 
+            ps -> {
+                setColumns(ps, 1, netflixShowsDTO);
+                ps.setObject(12, currentUserId, Types.BIGINT);
+                ps.setTimestamp(13, now);
+                ps.setLong(14, id);
+                if (expectedVersion != null) {
+                    ps.setLong(15, expectedVersion);
+                }
+            }, 
+            NetflixShowsServiceImpl::mapRow);
+
+        return afterUpdate(id, updatedNetflixShows, expectedVersion);
     }
 
     @Override
     @Transactional
-    public NetflixShowsDTO updateNetflixShows(Long id, NetflixShowsDTO netflixShowsDTO) {
-        Assert.notNull(netflixShowsDTO, "NetflixShowsDTO must not be null");
+    public NetflixShowsDTO patchNetflixShows(Long id, Map<String, Object> changes, Long expectedVersion) {
         Assert.notNull(id, "ID must not be null");
+        Assert.notEmpty(changes, "Changes must not be empty");
 
-        // Get NetflixShows by ID
-        NetflixShows netflixShows = netflixShowsRepository.findById(id)
-            .orElse(null);
+        // Set only the changed columns
+        StringBuilder sql = new StringBuilder("UPDATE netflix_shows SET ");
+        List<SqlParameterValue> parameters = new ArrayList<>();
 
-        // Check if the NetflixShows is null
-        if (netflixShows == null) {
-            return null;
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            PatchableColumn column = PATCHABLE_COLUMNS.get(change.getKey());
+            if (column == null) {
+                throw new IllegalArgumentException("Field cannot be changed: " + change.getKey());
+            }
+
+            sql.append(column.name()).append(" = ?, ");
+            parameters.add(new SqlParameterValue(column.sqlType(), toColumnValue(change.getKey(), change.getValue(), column)));
         }
 
-        // Update NetflixShows object
-        netflixShows.setShowType(EShowType.valueOf(netflixShowsDTO.getShowType()));
-        netflixShows.setTitle(netflixShowsDTO.getTitle());
-        netflixShows.setDirector(netflixShowsDTO.getDirector());
-        netflixShows.setCastMembers(netflixShowsDTO.getCastMembers());
-        netflixShows.setCountry(netflixShowsDTO.getCountry());
-        netflixShows.setDateAdded(netflixShowsDTO.getDateAdded());
-        netflixShows.setReleaseYear(netflixShowsDTO.getReleaseYear());
-        netflixShows.setRating(netflixShowsDTO.getRating());
-        netflixShows.setDuration(netflixShowsDTO.getDuration());
-        netflixShows.setListedIn(netflixShowsDTO.getListedIn());
-        netflixShows.setDescription(netflixShowsDTO.getDescription());
-        netflixShows.setUpdatedBy(SecurityUtil.getCurrentUserId());
-        netflixShows.setUpdatedAt(LocalDateTime.now());
+        sql.append("updated_by = ?, updated_at = ?, version = version + 1 WHERE id = ? AND is_deleted = false");
+        parameters.add(new SqlParameterValue(Types.BIGINT, SecurityUtil.getCurrentUserId()));
+        parameters.add(new SqlParameterValue(Types.TIMESTAMP, Timestamp.valueOf(LocalDateTime.now())));
+        parameters.add(new SqlParameterValue(Types.BIGINT, id));
 
-        // Save NetflixShows object & Return NetflixShowsDTO
-        return NetflixShowsMapper.toDTO(
-            netflixShowsRepository.save(netflixShows)
-        );
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            parameters.add(new SqlParameterValue(Types.BIGINT, expectedVersion));
+        }
+
+        // Update the NetflixShows and read its new state in a single statement
+        List<NetflixShowsDTO> updatedNetflixShows = jdbcTemplate.query(sql.append(" ").append(RETURNING_COLUMNS).toString(), 
+            NetflixShowsServiceImpl::mapRow, parameters.toArray());
+
+        return afterUpdate(id, updatedNetflixShows, expectedVersion);
     }
 
     @Override
@@ -132,22 +423,200 @@ public class NetflixShowsServiceImpl implements NetflixShowsService {
     public Boolean deleteNetflixShows(Long id) {
         Assert.notNull(id, "ID must not be null");
 
-        // Get NetflixShows by ID
-        NetflixShows netflixShows = netflixShowsRepository.findById(id)
-            .orElse(null);
+        // Soft delete the NetflixShows in a single statement
+        int deleted = netflixShowsRepository.softDeleteById(id, SecurityUtil.getCurrentUserId(), LocalDateTime.now());
 
-        // Check if the NetflixShows is null
-        if (netflixShows == null) {
+        // Check if the NetflixShows was found
+        if (deleted == 0) {
             return false;
         }
 
-        // Set deleted fields
-        netflixShows.setDeleted(true);
-        netflixShows.setDeletedAt(LocalDateTime.now());
-        netflixShows.setDeletedBy(SecurityUtil.getCurrentUserId());
-
-        // Delete NetflixShows object
-        netflixShowsRepository.save(netflixShows);
+        // Evict the deleted NetflixShows
+        netflixShowsCache.evict(id);
         return true;
     }
+
+    @Override
+    @Transactional
+    public List<Long> bulkDeleteNetflixShows(NetflixShowsBulkDeleteDTO netflixShowsBulkDeleteDTO) {
+        Assert.notNull(netflixShowsBulkDeleteDTO, "NetflixShowsBulkDeleteDTO must not be null");
+
+        // Select the NetflixShows by the fields that are set
+        StringBuilder sql = new StringBuilder(BULK_DELETE_SQL);
+        List<Object> parameters = new ArrayList<>();
+
+        List<Long> ids = netflixShowsBulkDeleteDTO.getIds();
+        if (ids != null && !ids.isEmpty()) {
+            if (ids.contains(null)) {
+                throw new IllegalArgumentException("IDs must not contain null");
+            }
+            sql.append(" AND id = ANY(?)");
+            parameters.add(ids.toArray(new Long[0]));
+        }
+
+        String showType = netflixShowsBulkDeleteDTO.getShowType();
+        if (showType != null) {
+            if (Arrays.stream(EShowType.values()).noneMatch(t -> t.name().equals(showType))) {
+                throw new IllegalArgumentException("Show type must be one of " + Arrays.toString(EShowType.values()));
+            }
+            sql.append(" AND \"type\" = ?");
+            parameters.add(showType);
+        }
+
+        if (netflixShowsBulkDeleteDTO.getReleaseYear() != null) {
+            sql.append(" AND release_year = ?");
+            parameters.add(netflixShowsBulkDeleteDTO.getReleaseYear());
+        }
+
+        if (netflixShowsBulkDeleteDTO.getCountry() != null && !netflixShowsBulkDeleteDTO.getCountry().isBlank()) {
+            sql.append(" AND country = ?");
+            parameters.add(netflixShowsBulkDeleteDTO.getCountry());
+        }
+
+        if (netflixShowsBulkDeleteDTO.getRating() != null && !netflixShowsBulkDeleteDTO.getRating().isBlank()) {
+            sql.append(" AND rating = ?");
+            parameters.add(netflixShowsBulkDeleteDTO.getRating());
+        }
+
+        // Never delete the whole catalogue by accident
+        if (parameters.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID or filter must be given");
+        }
+
+        sql.append(" RETURNING id");
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // Delete the NetflixShows and read their ids in a single statement
+        List<Long> deletedIds = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            ps.setObject(1, currentUserId, Types.BIGINT);
+            ps.setTimestamp(2, now);
+            for (int i = 0; i < parameters.size(); i++) {
+                Object parameter = parameters.get(i);
+                ps.setObject(i + 3, parameter instanceof Long[] array ? con.createArrayOf("bigint", array) : parameter);
+            }
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        // Evict the deleted NetflixShows
+        netflixShowsCache.evict(deletedIds);
+        return deletedIds;
+    }
+
+    // Validate a bulk item and return the reason it is invalid, or null if it is valid
+    private static String validate(NetflixShowsDTO netflixShowsDTO) {
+        if (netflixShowsDTO == null) {
+            return "NetflixShowsRequest must not be null";
+        }
+
+        if (netflixShowsDTO.getTitle() == null || netflixShowsDTO.getTitle().isEmpty()) {
+            return "Title must not be null or empty";
+        }
+
+        if (netflixShowsDTO.getShowType() == null || 
+            Arrays.stream(EShowType.values()).noneMatch(t -> t.name().equals(netflixShowsDTO.getShowType()))) {
+            return "Show type must be one of " + Arrays.toString(EShowType.values());
+        }
+
+        if (netflixShowsDTO.getDateAdded() == null) {
+            return "Date added must not be null";
+        }
+
+        if (netflixShowsDTO.getReleaseYear() == null) {
+            return "Release year must not be null";
+        }
+
+        return null;
+    }
+
+    // Set the eleven data columns of a bulk insert or update, starting at the given parameter index
+    private static void setColumns(PreparedStatement ps, int start, NetflixShowsDTO netflixShowsDTO) throws SQLException {
+        ps.setString(start, netflixShowsDTO.getShowType());
+        ps.setString(start + 1, netflixShowsDTO.getTitle());
+        ps.setString(start + 2, netflixShowsDTO.getDirector());
+        ps.setString(start + 3, netflixShowsDTO.getCastMembers());
+        ps.setString(start + 4, netflixShowsDTO.getCountry());
+        ps.setDate(start + 5, netflixShowsDTO.getDateAdded());
+        ps.setInt(start + 6, netflixShowsDTO.getReleaseYear());
+        ps.setString(start + 7, netflixShowsDTO.getRating());
+        ps.setString(start + 8, netflixShowsDTO.getDuration());
+        ps.setString(start + 9, netflixShowsDTO.getListedIn());
+        ps.setString(start + 10, netflixShowsDTO.getDescription());
+    }
+
+    // Cache and return the updated NetflixShows, or find out why nothing was updated
+    private NetflixShowsDTO afterUpdate(Long id, List<NetflixShowsDTO> updatedNetflixShows, Long expectedVersion) {
+        if (updatedNetflixShows.isEmpty()) {
+            // The NetflixShows exists, so it was changed by someone else since the expected version
+            if (expectedVersion != null && netflixShowsRepository.existsByIdAndIsDeletedFalse(id)) {
+                throw new OptimisticLockingFailureException("NetflixShows with ID " + id + 
+                    " has been modified since version " + expectedVersion);
+            }
+
+            return null;
+        }
+
+        NetflixShowsDTO updatedNetflixShowsDTO = updatedNetflixShows.get(0);
+        netflixShowsCache.put(updatedNetflixShowsDTO);
+        return updatedNetflixShowsDTO;
+    }
+
+    // Convert a PATCH value to the value of its column
+    private static Object toColumnValue(String field, Object value, PatchableColumn column) {
+        if (value == null) {
+            if (column.required()) {
+                throw new IllegalArgumentException(field + " must not be null");
+            }
+            return null;
+        }
+
+        try {
+            switch (column.sqlType()) {
+                case Types.DATE:
+                    return Date.valueOf((String) value);
+                case Types.INTEGER:
+                    return ((Number) value).intValue();
+                default:
+                    String text = (String) value;
+                    if (field.equals("title") && text.isEmpty()) {
+                        throw new IllegalArgumentException("Title must not be null or empty");
+                    }
+                    if (field.equals("showType") && 
+                        Arrays.stream(EShowType.values()).noneMatch(t -> t.name().equals(text))) {
+                        throw new IllegalArgumentException("Show type must be one of " + Arrays.toString(EShowType.values()));
+                    }
+                    return text;
+            }
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Invalid value for " + field + ": " + value);
+        }
+    }
+
+    // Map a row returned by a single update to NetflixShowsDTO
+    private static NetflixShowsDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        Timestamp lastModifiedAt = updatedAt != null ? updatedAt : rs.getTimestamp("created_at");
+
+        return new NetflixShowsDTO(
+            rs.getLong("id"),
+            rs.getString("type"),
+            rs.getString("title"),
+            rs.getString("director"),
+            rs.getString("cast_members"),
+            rs.getString("country"),
+            rs.getDate("date_added"),
+            rs.getInt("release_year"),
+            rs.getString("rating"),
+            rs.getString("duration"),
+            rs.getString("listed_in"),
+            rs.getString("description"),
+            lastModifiedAt != null ? lastModifiedAt.toLocalDateTime() : null,
+            rs.getLong("version")
+        );
+    }
+
+    // A column that can be changed by PATCH
+    private record PatchableColumn(String name, int sqlType, boolean required) {
+    }
 }
@@ -1,18 +1,19 @@
 package com.yoanesber.backend.jwt_auth_demo.service.impl;
 
 import io.jsonwebtoken.lang.Assert;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.yoanesber.backend.jwt_auth_demo.entity.RefreshToken;
-import com.yoanesber.backend.jwt_auth_demo.entity.RefreshTokenId;
-import com.yoanesber.backend.jwt_auth_demo.entity.User;
 import com.yoanesber.backend.jwt_auth_demo.repository.RefreshTokenRepository;
 import com.yoanesber.backend.jwt_auth_demo.repository.UserRepository;
 import com.yoanesber.backend.jwt_auth_demo.service.RefreshTokenService;
@@ -44,40 +45,40 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     public Optional<RefreshToken> findByToken(String token) {
         Assert.notNull(token, "Token must not be null");
-        return refreshTokenRepository.findByIdToken(token);
+        return refreshTokenRepository.findByTokenHash(hash(token));
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenWithUser(String token) {
+        Assert.notNull(token, "Token must not be null");
+        return refreshTokenRepository.findWithUserByTokenHash(hash(token));
     }
 
     @Override
-    @Transactional
     public RefreshToken createRefreshToken(Long userId) {
         Assert.notNull(userId, "User id must not be null");
 
-        // Get user by user id
-        User user = userRepository.findById(userId).orElse(null);
+        // Create refresh token
+        RefreshToken newRefreshToken = new RefreshToken();
+        newRefreshToken.setUserId(userId);
+        newRefreshToken.setToken(UUID.randomUUID().toString());
+        newRefreshToken.setTokenHash(hash(newRefreshToken.getToken()));
+        newRefreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenExpirationMs));
 
-        // Check if the user exists
-        if (user == null) {
+        try {
+            // Insert or replace the refresh token of the user in one statement
+            refreshTokenRepository.upsertByUserId(userId, 
+                newRefreshToken.getTokenHash(), 
+                newRefreshToken.getExpiryDate());
+        } catch (DataIntegrityViolationException e) {
+            // The foreign key to the users table is violated if the user does not exist
             logger.error("User not found with id: " + userId);
             return null;
         }
 
-        // Get existing refresh token by user id
-        RefreshToken existingRefreshToken = refreshTokenRepository.findByUserId(userId);
-
-        // Check if the existing refresh token is not null
-        if (existingRefreshToken != null) {
-            // Delete the existing refresh token by user id
-            refreshTokenRepository.deleteByIdUserId(userId);
-        }
-
-        // Create refresh token
-        RefreshToken newRefreshToken = new RefreshToken();
-        newRefreshToken.setUser(user);
-        newRefreshToken.setId(new RefreshTokenId(userId, UUID.randomUUID().toString()));
-        newRefreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenExpirationMs));
-        
-        // Save refresh token
-        return refreshTokenRepository.save(newRefreshToken);
+        // Reference the user without loading it
+        newRefreshToken.setUser(userRepository.getReferenceById(userId));
+        return newRefreshToken;
     }
 
     @Override
@@ -91,4 +92,21 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
         return false; // Token is not expired
     }
+
+    @Override
+    public void deleteByUserId(Long userId) {
+        Assert.notNull(userId, "User id must not be null");
+
+        // Delete the refresh token of the user (nothing happens if the user has none)
+        refreshTokenRepository.deleteById(userId);
+    }
+
+    // Digest of the token as it is stored in the database
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
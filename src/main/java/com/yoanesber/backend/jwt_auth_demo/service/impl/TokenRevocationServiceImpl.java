@@ -0,0 +1,113 @@
+package com.yoanesber.backend.jwt_auth_demo.service.impl;
+
+import io.jsonwebtoken.lang.Assert;
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.yoanesber.backend.jwt_auth_demo.cache.RevokedTokenCache;
+import com.yoanesber.backend.jwt_auth_demo.cache.VerifiedTokenCache;
+import com.yoanesber.backend.jwt_auth_demo.entity.VerifiedJwtClaim;
+import com.yoanesber.backend.jwt_auth_demo.repository.RevokedTokenRepository;
+import com.yoanesber.backend.jwt_auth_demo.service.TokenRevocationService;
+
+/**
+ * TokenRevocationServiceImpl is a service class that implements the TokenRevocationService interface.
+ * A revocation is written to the revoked_token table and added to the RevokedTokenCache of this node;
+ * the other nodes pick it up on their next synchronization, and a node that starts loads every unexpired row.
+ * The @Service annotation indicates that this class is a Spring service component.
+ */
+
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+    // Load the unexpired revocations made after the given time, in the order they were made
+    private static final String SELECT_SINCE_SQL = """
+        SELECT token_id, expiry_date, revoked_at FROM revoked_token
+        WHERE revoked_at > ? AND expiry_date > ?
+        ORDER BY revoked_at
+        """;
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM revoked_token WHERE expiry_date <= ?";
+
+    // Revocations are loaded again from this far before the newest one seen, so that a row whose transaction
+    // committed late, or that was stamped by a node with a slightly slower clock, is not skipped
+    private static final long SYNC_OVERLAP_MS = 5000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RevokedTokenCache revokedTokenCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    // revoked_at of the newest revocation loaded from the database
+    private volatile Instant lastRevokedAt = Instant.EPOCH;
+
+    public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository, JdbcTemplate jdbcTemplate,
+        RevokedTokenCache revokedTokenCache, VerifiedTokenCache verifiedTokenCache) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.revokedTokenCache = revokedTokenCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    // Rebuild the revocation list from the database before the node serves requests
+    @PostConstruct
+    public void init() {
+        int loaded = synchronize();
+        logger.info("Loaded " + loaded + " revoked tokens");
+    }
+
+    @Override
+    public void revoke(String jwtToken, VerifiedJwtClaim claim) {
+        Assert.notNull(jwtToken, "JWT token must not be null");
+        Assert.notNull(claim, "Claim must not be null");
+
+        // Tokens issued without a jti cannot be revoked; they stay valid until they expire
+        Date expiration = claim.getExpiration();
+        if (claim.getTokenId() == null || expiration == null) {
+            logger.warn("Token of user " + claim.getUserName() + " has no jti or expiration and cannot be revoked");
+            return;
+        }
+
+        // Persist the revocation first, so that it survives a restart and reaches the other nodes
+        revokedTokenRepository.insertIfAbsent(claim.getTokenId(), claim.getUserId(),
+            expiration.toInstant(), Instant.now());
+
+        // Reject the token on this node from now on, including when its claims are already cached
+        revokedTokenCache.add(claim.getTokenId(), expiration.getTime());
+        verifiedTokenCache.evict(jwtToken);
+    }
+
+    @Override
+    public int synchronize() {
+        Instant since = lastRevokedAt.minusMillis(SYNC_OVERLAP_MS);
+        int[] added = {0};
+
+        jdbcTemplate.query(SELECT_SINCE_SQL, resultSet -> {
+            Instant revokedAt = resultSet.getTimestamp("revoked_at").toInstant();
+            if (revokedTokenCache.add(resultSet.getString("token_id"),
+                resultSet.getTimestamp("expiry_date").getTime())) {
+                added[0]++;
+            }
+            if (revokedAt.isAfter(lastRevokedAt)) {
+                lastRevokedAt = revokedAt;
+            }
+        }, Timestamp.from(since), Timestamp.from(Instant.now()));
+
+        return added[0];
+    }
+
+    @Override
+    public int purgeExpired() {
+        // Drop the expired entries from memory, then from the database (every node may run this; it is idempotent)
+        int removed = revokedTokenCache.removeExpired();
+        jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.from(Instant.now()));
+        return removed;
+    }
+}
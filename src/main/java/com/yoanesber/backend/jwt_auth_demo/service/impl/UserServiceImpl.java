@@ -3,15 +3,17 @@ package com.yoanesber.backend.jwt_auth_demo.service.impl;
 import io.jsonwebtoken.lang.Assert;
 import java.time.Instant;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.yoanesber.backend.jwt_auth_demo.entity.User;
+import com.yoanesber.backend.jwt_auth_demo.cache.UserDetailsCache;
 import com.yoanesber.backend.jwt_auth_demo.repository.UserRepository;
+import com.yoanesber.backend.jwt_auth_demo.scheduler.LastLoginWriter;
 import com.yoanesber.backend.jwt_auth_demo.service.UserService;
 
 /**
  * UserServiceImpl is a service class that implements the UserService interface.
  * It provides methods to manage user-related operations, including updating the last login time.
+ * Every change evicts the user from the UserDetailsCache.
+ * Last-login updates are handed to the LastLoginWriter so that they are written in batches outside the login request.
  * The @Service annotation indicates that this class is a Spring service component.
  */
 
@@ -19,27 +21,38 @@ import com.yoanesber.backend.jwt_auth_demo.service.UserService;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final LastLoginWriter lastLoginWriter;
     
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserDetailsCache userDetailsCache,
+        LastLoginWriter lastLoginWriter) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.lastLoginWriter = lastLoginWriter;
     }
 
     @Override
-    @Transactional
     public void updateLastLogin(String userName) {
         Assert.notNull(userName, "Username must not be null");
-        
+
+        Instant lastLogin = Instant.now();
+
+        // Queue the update for the background writer, which coalesces and batches it
+        if (lastLoginWriter.enqueue(userName, lastLogin)) {
+            return;
+        }
+
         try {
-            // Find a user by its username
-            User user = userRepository.findByUserName(userName).orElse(null);
-
-            // Check if the user exists
-            if (user != null) {
-                user.setLastLogin(Instant.now());
-                userRepository.save(user);
-            } else {
+            // Write the update directly when the writer is disabled or its queue is full.
+            // No row is updated either when the user does not exist or when the stored last login is already
+            // the same or newer (a concurrent login, a flush that landed first or another node's clock),
+            // and only the first is an error
+            if (lastLoginWriter.write(userName, lastLogin) == 0 && !userRepository.existsByUserName(userName)) {
                 throw new RuntimeException("User not found with username: " + userName);
             }
+
+            // Evict the cached user details
+            userDetailsCache.evict(userName);
         } catch (Exception e) {
             throw new RuntimeException("Failed to update last login: " + e.getMessage());
         }
@@ -0,0 +1,90 @@
+package com.yoanesber.backend.jwt_auth_demo.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * BloomFilter is a fixed-size, thread-safe Bloom filter of strings.
+ * mightContain never returns false for a value that was put, and returns true for a value that was not put
+ * with roughly the false-positive rate it was sized for, as long as no more than the expected number of values is put.
+ * Values cannot be removed; a filter is rebuilt instead. Reads and writes take no locks.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray((int) (bitCount >>> 6));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    // Size the filter for the expected number of values and the target false-positive rate (0 < rate < 1)
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, Double.MIN_VALUE), 0.5);
+
+        // Optimal number of bits m = -n ln(p) / ln(2)^2, rounded up to whole 64-bit words,
+        // and of hash functions k = m / n ln(2)
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        bits = Math.min(Math.max(64, (bits + 63) & ~63L), (long) Integer.MAX_VALUE << 6);
+        int hashes = (int) Math.max(1, Math.min(16, Math.round((double) bits / n * Math.log(2))));
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            // Set the bit unless another thread already did
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // 64-bit FNV-1a over the characters of the value, finished with the MurmurHash3 mixer;
+    // the two hashes of a value are combined as hash1 + i * hash2 (Kirsch-Mitzenmacher)
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,41 @@
+package com.yoanesber.backend.jwt_auth_demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * CursorUtil encodes and decodes the opaque cursors used by keyset pagination.
+ * A cursor wraps the id of the last item of a page, so that clients do not depend on its format.
+ */
+public class CursorUtil {
+    private static final String PREFIX = "id:";
+
+    // Encode the id of the last item of a page as a cursor
+    public static String encode(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Decode a cursor to the id after which the next page starts
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Both malformed Base64 and NumberFormatException end up here
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
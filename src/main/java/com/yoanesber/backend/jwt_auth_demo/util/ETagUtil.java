@@ -0,0 +1,57 @@
+package com.yoanesber.backend.jwt_auth_demo.util;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * ETagUtil is a utility class that builds entity tags and Last-Modified values for conditional requests.
+ * Strong tags identify an exact representation of a single resource; weak tags identify a
+ * semantically equivalent representation, such as a list derived from an aggregate version.
+ */
+public class ETagUtil {
+    // Build a strong entity tag from the given parts, e.g. "1-1716900000000"
+    public static String strong(Object... parts) {
+        return "\"" + join(parts) + "\"";
+    }
+
+    // Build a weak entity tag from the given parts, e.g. W/"20-1716900000000"
+    public static String weak(Object... parts) {
+        return "W/\"" + join(parts) + "\"";
+    }
+
+    // Get the version from an If-Match header holding a strong tag built as strong(id, version):
+    // null for "*" (any version), or -1 (which matches no version) if the tag is weak, malformed or for another id
+    public static Long versionOf(String ifMatch, Long id) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+
+        String prefix = "\"" + id + "-";
+        if (!value.startsWith(prefix) || !value.endsWith("\"") || value.length() <= prefix.length() + 1) {
+            return -1L;
+        }
+
+        try {
+            return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // Convert a timestamp to epoch milliseconds for the Last-Modified header (-1 if there is none)
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime).getTime() : -1;
+    }
+
+    private static String join(Object... parts) {
+        StringBuilder value = new StringBuilder();
+        for (Object part : parts) {
+            if (value.length() > 0) {
+                value.append('-');
+            }
+            value.append(part);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,207 @@
+package com.yoanesber.backend.jwt_auth_demo.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+
+/**
+ * ErrorResponseWriter writes the JSON error responses of the security filters and handlers without Jackson.
+ * The fixed part of each error shape (message, error and status) is encoded to UTF-8 once and kept as a template,
+ * so a response only splices in the request path and the timestamp and is written to the output stream in one call.
+ * The output has the same fields, order and format as HttpResponseDTO serialized by Jackson (with null data).
+ */
+public class ErrorResponseWriter {
+    // Templates are kept for the first shapes seen; shapes beyond this (e.g. with exception messages) are encoded per call
+    private static final int MAX_TEMPLATES = 256;
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ConcurrentHashMap<TemplateKey, Template> templates = new ConcurrentHashMap<>();
+
+    // The encoded date and time of the current second, shared by all responses written within that second
+    private static volatile EncodedSecond encodedSecond = new EncodedSecond(Long.MIN_VALUE, new byte[0]);
+
+    // Write an error response for a servlet request
+    public static void write(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+        String message, String error) throws IOException {
+        write(response, status, encode(status, message, error, request.getRequestURI(), Instant.now()), true);
+    }
+
+    // Write an error response without a request path, the same as the one written to a ServerHttpResponse
+    // (including its Content-Type, which has no charset parameter)
+    public static void write(HttpServletResponse response, HttpStatus status, String message, String error)
+        throws IOException {
+        write(response, status, encode(status, message, error, null, Instant.now()), false);
+    }
+
+    private static void write(HttpServletResponse response, HttpStatus status, byte[] body, boolean charset)
+        throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (charset) {
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        response.setContentLength(body.length);
+
+        try {
+            response.getOutputStream().write(body);
+        } catch (IllegalStateException e) {
+            // The writer has already been obtained for this response
+            response.getWriter().write(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    // Write an error response without a request path, e.g. from a CorsProcessor
+    public static void write(ServerHttpResponse response, HttpStatus status, String message, String error)
+        throws IOException {
+        byte[] body = encode(status, message, error, null, Instant.now());
+
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        response.getBody().write(body);
+        response.flush();
+    }
+
+    // Encode a complete error response: the template, the path, the rest of the template and the timestamp
+    public static byte[] encode(HttpStatus status, String message, String error, String path, Instant timestamp) {
+        Template template = template(status, message, error);
+        byte[] escapedPath = path != null && !isPlainAscii(path) ? escape(path).getBytes(StandardCharsets.UTF_8) : null;
+        int pathLength = path == null ? NULL.length : 2 + (escapedPath != null ? escapedPath.length : path.length());
+
+        byte[] second = encodedSecond(timestamp.getEpochSecond());
+        int nano = timestamp.getNano();
+        int fractionDigits = nano == 0 ? 0 : nano % 1_000_000 == 0 ? 3 : nano % 1_000 == 0 ? 6 : 9;
+
+        byte[] body = new byte[template.head().length + pathLength + template.tail().length +
+            second.length + (fractionDigits > 0 ? fractionDigits + 1 : 0) + 1 + END.length];
+        int offset = put(body, 0, template.head());
+
+        // Path
+        if (path == null) {
+            offset = put(body, offset, NULL);
+        } else {
+            body[offset++] = '"';
+            if (escapedPath != null) {
+                offset = put(body, offset, escapedPath);
+            } else {
+                for (int i = 0; i < path.length(); i++) {
+                    body[offset++] = (byte) path.charAt(i);
+                }
+            }
+            body[offset++] = '"';
+        }
+
+        offset = put(body, offset, template.tail());
+
+        // Timestamp in ISO_INSTANT format: the fraction is printed in groups of three digits, if there is one
+        offset = put(body, offset, second);
+        if (fractionDigits > 0) {
+            body[offset++] = '.';
+            int fraction = nano;
+            for (int i = 9; i > fractionDigits; i--) {
+                fraction /= 10;
+            }
+            for (int i = offset + fractionDigits - 1; i >= offset; i--) {
+                body[i] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            offset += fractionDigits;
+        }
+        body[offset++] = 'Z';
+        put(body, offset, END);
+        return body;
+    }
+
+    private static Template template(HttpStatus status, String message, String error) {
+        TemplateKey key = new TemplateKey(status.value(), message, error);
+        Template template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+
+        String head = "{\"message\":" + quote(message) + ",\"error\":" + quote(error) + ",\"path\":";
+        String tail = ",\"status\":" + status.value() + ",\"data\":null,\"timestamp\":\"";
+        template = new Template(head.getBytes(StandardCharsets.UTF_8), tail.getBytes(StandardCharsets.UTF_8));
+
+        if (templates.size() < MAX_TEMPLATES) {
+            templates.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    // The date and time part of the timestamp (e.g. 2025-05-28T15:43:40), encoded once per second
+    private static byte[] encodedSecond(long epochSecond) {
+        EncodedSecond current = encodedSecond;
+        if (current.epochSecond() != epochSecond) {
+            String formatted = DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochSecond(epochSecond));
+            current = new EncodedSecond(epochSecond,
+                formatted.substring(0, formatted.length() - 1).getBytes(StandardCharsets.US_ASCII));
+            encodedSecond = current;
+        }
+        return current.bytes();
+    }
+
+    private static int put(byte[] target, int offset, byte[] source) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    // True if the value can be copied to the output as is: printable ASCII without quotes or backslashes
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7e || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String quote(String value) {
+        return value == null ? "null" : "\"" + escape(value) + "\"";
+    }
+
+    // Escape a JSON string value the way Jackson does by default
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\b' -> escaped.append("\\b");
+                case '\f' -> escaped.append("\\f");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private record TemplateKey(int status, String message, String error) {
+    }
+
+    // The encoded response before the path (head) and between the path and the timestamp (tail)
+    private record Template(byte[] head, byte[] tail) {
+    }
+
+    private record EncodedSecond(long epochSecond, byte[] bytes) {
+    }
+}
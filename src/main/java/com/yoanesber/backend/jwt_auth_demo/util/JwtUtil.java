@@ -1,31 +1,28 @@
 package com.yoanesber.backend.jwt_auth_demo.util;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.JwtParserBuilder;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
 import java.util.Date;
-import java.security.*;
-import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.UUID;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtConfig;
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKey;
+import com.yoanesber.backend.jwt_auth_demo.config.security.jwt.JwtKeyMaterial;
 import com.yoanesber.backend.jwt_auth_demo.entity.JwtClaim;
+import com.yoanesber.backend.jwt_auth_demo.entity.JwtToken;
+import com.yoanesber.backend.jwt_auth_demo.entity.VerifiedJwtClaim;
 
 /**
  * JwtUtil is a utility class that provides methods for generating, parsing, and validating JWT tokens.
- * It handles both HMAC and RSA algorithms for signing and verifying JWTs.
+ * It signs tokens with the current key of the JwtKeyMaterial keyring (HMAC, RSA or EC) and verifies them by key id.
  * The class also provides methods to extract JWT tokens from HTTP headers and cookies.
  */
 @Component
@@ -38,9 +35,6 @@ public class JwtUtil {
     private static String jwtHeader = JwtConfig.getStaticHeader();
     private static String jwtIssuer = JwtConfig.getStaticIssuer();
     private static String jwtKeyAlgorithm = JwtConfig.getStaticKeyAlgorithm();
-    private static String jwtKeySecret = JwtConfig.getStaticKeySecret();
-    private static String jwtPrivateKeyFile = JwtConfig.getStaticPrivateKeyFile();
-    private static String jwtPublicKeyFile = JwtConfig.getStaticPublicKeyFile();
     private static String jwtTokenType = JwtConfig.getStaticTokenType();
     private static Long jwtExpirationMs = JwtConfig.getStaticExpirationMs();
     private static String jwtCookieName = JwtConfig.getStaticCookieName();
@@ -70,44 +64,16 @@ public class JwtUtil {
                 .orElse("") : "";
     }
 
-    private static SecretKey key() {
-        // Generate the HMAC SHA key from the JWT secret
-        return Keys.hmacShaKeyFor(jwtKeySecret.getBytes(StandardCharsets.UTF_8));
-    }
-
-    private static PrivateKey getPrivateKey() throws Exception {
-        try {
-            String key = Files.readString(Paths.get(jwtPrivateKeyFile))
-                    .replaceAll("-----\\w+ PRIVATE KEY-----", "")
-                    .replaceAll("\\s+", "");
-            byte[] decoded = Base64.getDecoder().decode(key);
-            PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(decoded);
-            KeyFactory kf = KeyFactory.getInstance("RSA");
-            return kf.generatePrivate(spec);
-        } catch (Exception e) {
-            throw e;
-        }
-    }
-
-    private static PublicKey getPublicKey() throws Exception {
-        try {
-            String key = Files.readString(Paths.get(jwtPublicKeyFile))
-                    .replaceAll("-----\\w+ PUBLIC KEY-----", "")
-                    .replaceAll("\\s+", "");
-            byte[] decoded = Base64.getDecoder().decode(key);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(decoded);
-            KeyFactory kf = KeyFactory.getInstance("RSA");
-            return kf.generatePublic(spec);
-        } catch (Exception e) {
-            throw e;
-        }
-    }
-
-    public static String generateJwtToken(JwtClaim claim) throws JwtException, RuntimeException {
+    public static JwtToken createJwtToken(JwtClaim claim) throws JwtException, RuntimeException {
         Assert.notNull(claim, "Claim must not be null");
 
-        // Generate the JWT token based on the username
+        // Compute the issued-at and expiration dates once so that they can be returned with the token
+        Date issuedAt = new Date();
+        Date expiration = new Date(issuedAt.getTime() + jwtExpirationMs);
+
+        // Generate the JWT token based on the username, with a unique id (jti) by which it can be revoked
         JwtBuilder jwtBuilder = Jwts.builder()
+            .setId(UUID.randomUUID().toString())
             .setSubject(claim.getUserName())
             .claim("userId", claim.getUserId())
             .claim("email", claim.getEmail())
@@ -116,38 +82,36 @@ public class JwtUtil {
             .claim("userType", claim.getUserType())
             .claim("roles", claim.getRoles())
             .setIssuer(jwtIssuer)
-            .setIssuedAt(new Date())
-            .setExpiration(new Date(new Date().getTime() + jwtExpirationMs));
+            .setIssuedAt(issuedAt)
+            .setExpiration(expiration);
 
-        // Check if the key algorithm is RSA
-        if ("RSA".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Sign the JWT token with the private key
-                return jwtBuilder.signWith(getPrivateKey(), SignatureAlgorithm.RS256).compact();
-            } catch (JwtException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to sign JWT token with RSA: " + e.getMessage());
-            }
-        } else if ("HMAC".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Sign the JWT token with the HMAC SHA key
-                return jwtBuilder.signWith(key(), SignatureAlgorithm.HS256).compact();
-            } catch (JwtException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to sign JWT token with HMAC: " + e.getMessage());
-            }
-        } else {
-            throw new IllegalArgumentException("Unsupported key algorithm: " + jwtKeyAlgorithm);
+        // Sign the JWT token with the current key of the keyring and stamp its key id in the header
+        JwtKey signingKey = JwtKeyMaterial.getStaticSigningKey();
+        try {
+            return new JwtToken(jwtBuilder
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
+                .compact(), issuedAt, expiration);
+        } catch (JwtException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to sign JWT token with " + jwtKeyAlgorithm + ": " + e.getMessage());
         }
     }
 
+    public static String generateJwtToken(JwtClaim claim) throws JwtException, RuntimeException {
+        return createJwtToken(claim).getToken();
+    }
+
     public static ResponseCookie generateJwtCookie(JwtClaim claim) {
         Assert.notNull(claim, "Claim must not be null");
 
         // Generate the JWT token from the user principal
-        String jwtToken = generateJwtToken(claim);
+        return generateJwtCookie(generateJwtToken(claim));
+    }
+
+    public static ResponseCookie generateJwtCookie(String jwtToken) {
+        Assert.notNull(jwtToken, "JWT token must not be null");
 
         // Generate the JWT cookie based on the JWT token
         return ResponseCookie.from(jwtCookieName, jwtToken)
@@ -170,114 +134,42 @@ public class JwtUtil {
             .build();
     }
 
-    public static String getUserNameFromToken(String jwtToken) throws JwtException, RuntimeException {
+    // Verify the signature of the JWT token once and return its claims
+    public static VerifiedJwtClaim verifyToken(String jwtToken) throws JwtException, RuntimeException {
         Assert.notNull(jwtToken, "JWT token must not be null");
 
-        JwtParserBuilder jwtParserBuilder = Jwts.parserBuilder();
+        // Parse the token with the shared parser built for the loaded verification key
+        Claims claims = JwtKeyMaterial.getStaticJwtParser()
+            .parseClaimsJws(jwtToken)
+            .getBody();
+
+        Number userId = claims.get("userId", Number.class);
+        List<?> roles = claims.get("roles", List.class);
+
+        return new VerifiedJwtClaim(
+            claims.getId(),
+            userId != null ? userId.longValue() : null,
+            claims.getSubject(),
+            claims.get("email", String.class),
+            claims.get("firstName", String.class),
+            claims.get("lastName", String.class),
+            claims.get("userType", String.class),
+            roles != null ? roles.stream().map(String::valueOf).toList() : null,
+            claims.getIssuer(),
+            claims.getIssuedAt(),
+            claims.getExpiration());
+    }
 
-        // Check if the key algorithm is RSA
-        if ("RSA".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Set the public key for RSA algorithm
-                return jwtParserBuilder.setSigningKey(getPublicKey())
-                    .build()
-                    .parseClaimsJws(jwtToken)
-                    .getBody()
-                    .getSubject();
-            } catch (JwtException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to set public key for JWT parsing: " + e.getMessage());
-            }
-        } else if ("HMAC".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Set the HMAC SHA key for HMAC algorithm
-                return jwtParserBuilder.setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(jwtToken)
-                    .getBody()
-                    .getSubject();
-            } catch (JwtException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to set HMAC key for JWT parsing: " + e.getMessage());
-            }
-        } else {
-            throw new IllegalArgumentException("Unsupported key algorithm: " + jwtKeyAlgorithm);
-        }
+    public static String getUserNameFromToken(String jwtToken) throws JwtException, RuntimeException {
+        return verifyToken(jwtToken).getUserName();
     }
 
     public static Date getExpirationDateFromToken(String jwtToken) throws JwtException, RuntimeException {
-        Assert.notNull(jwtToken, "JWT token must not be null");
-
-        JwtParserBuilder jwtParserBuilder = Jwts.parserBuilder();
-
-        // Check if the key algorithm is RSA
-        if ("RSA".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Set the public key for RSA algorithm
-                return jwtParserBuilder.setSigningKey(getPublicKey())
-                    .build()
-                    .parseClaimsJws(jwtToken)
-                    .getBody()
-                    .getExpiration();
-            } catch (JwtException e) {
-                throw e;
-            }  catch (Exception e) {
-                throw new RuntimeException("Failed to set public key for JWT parsing: " + e.getMessage());
-            }
-        } else if ("HMAC".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Set the HMAC SHA key for HMAC algorithm
-                return jwtParserBuilder.setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(jwtToken)
-                    .getBody()
-                    .getExpiration();
-            } catch (JwtException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to set HMAC key for JWT parsing: " + e.getMessage());
-            }
-        } else {
-            throw new IllegalArgumentException("Unsupported key algorithm: " + jwtKeyAlgorithm);
-        }
+        return verifyToken(jwtToken).getExpiration();
     }
 
     public static boolean validateToken(String jwtToken) throws JwtException, RuntimeException {
-        Assert.notNull(jwtToken, "JWT token must not be null");
-
-        JwtParserBuilder jwtParserBuilder = Jwts.parserBuilder();
-
-        // Check if the key algorithm is RSA
-        if ("RSA".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Set the public key for RSA algorithm
-                jwtParserBuilder.setSigningKey(getPublicKey())
-                    .build()
-                    .parseClaimsJws(jwtToken);
-
-                return true;
-            } catch (JwtException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to set public key for JWT parsing: " + e.getMessage());
-            }
-        } else if ("HMAC".equalsIgnoreCase(jwtKeyAlgorithm)) {
-            try {
-                // Set the HMAC SHA key for HMAC algorithm
-                jwtParserBuilder.setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(jwtToken);
-                
-                return true;
-            } catch (JwtException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to set public key for JWT parsing: " + e.getMessage());
-            }
-        } else {
-            throw new IllegalArgumentException("Unsupported key algorithm: " + jwtKeyAlgorithm);
-        }
+        verifyToken(jwtToken);
+        return true;
     }
 }
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,12 @@ public class ResponseUtil {
         HttpServletResponse response, HttpStatus status, String message,
         String error, Object data) throws IOException {
 
+        // Error responses without data are written from pre-encoded templates, without Jackson
+        if (data == null) {
+            ErrorResponseWriter.write(request, response, status, message, error);
+            return;
+        }
+
         response.setStatus(status.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setCharacterEncoding(StandardCharsets.UTF_8.name());
@@ -62,6 +69,19 @@ public class ResponseUtil {
         ));
     }
 
+    public static ResponseEntity<HttpResponseDTO> buildOkWithHeadersResponse(HttpServletRequest request,
+        String message, Object data, HttpHeaders headers) {
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(new HttpResponseDTO(
+                message,
+                null,
+                request.getRequestURI(),
+                HttpStatus.OK.value(),
+                data
+            ));
+    }
+
     public static ResponseEntity<HttpResponseDTO> buildOkWithCookiesResponse(HttpServletRequest request,
         String message, Object data, String cookieName, String cookieValue) {
         return ResponseEntity.ok()
@@ -99,6 +119,30 @@ public class ResponseUtil {
             ));
     }
 
+    public static ResponseEntity<HttpResponseDTO> buildPreconditionFailedResponse(HttpServletRequest request,
+        String message, String error, Object data) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+            .body(new HttpResponseDTO(
+                message,
+                error,
+                request.getRequestURI(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                data
+            ));
+    }
+
+    public static ResponseEntity<HttpResponseDTO> buildPreconditionRequiredResponse(HttpServletRequest request,
+        String message, String error, Object data) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+            .body(new HttpResponseDTO(
+                message,
+                error,
+                request.getRequestURI(),
+                HttpStatus.PRECONDITION_REQUIRED.value(),
+                data
+            ));
+    }
+
     public static ResponseEntity<HttpResponseDTO> buildCreatedResponse(HttpServletRequest request,
         String message, Object data) {
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -0,0 +1,5 @@
+# Generate private key (ECDSA P-256 for ES256, in PKCS#8 format)
+openssl genpkey -algorithm EC -pkeyopt ec_paramgen_curve:P-256 -out ecPrivateKey.pem
+
+# Extract public key
+openssl pkey -pubout -in ecPrivateKey.pem -out ecPublicKey.pem
@@ -1,4 +1,30 @@
 -- This file is used to import data into the database.
+--
+-- Name: netflix_shows.search_vector; Full-text search document (title, people, categories and description)
+--
+
+ALTER TABLE netflix_shows ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (setweight(to_tsvector('english', coalesce(title, '')), 'A') || setweight(to_tsvector('english', coalesce(director, '') || ' ' || coalesce(cast_members, '')), 'B') || setweight(to_tsvector('english', coalesce(listed_in, '')), 'C') || setweight(to_tsvector('english', coalesce(description, '')), 'D')) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_netflix_shows_search_vector ON netflix_shows USING GIN (search_vector) WHERE is_deleted = false;
+
+--
+-- Name: ix_netflix_shows_active_id; Non-deleted shows by id, for the lookups, listing and keyset pagination that all filter on is_deleted = false
+--
+
+CREATE INDEX IF NOT EXISTS ix_netflix_shows_active_id ON netflix_shows (id) WHERE is_deleted = false;
+
+--
+-- Name: netflix_shows_version; Single-row version of the whole catalogue, bumped by a statement-level trigger on every write to netflix_shows, so list ETags are read from one row instead of an aggregate over the table
+--
+
+CREATE TABLE IF NOT EXISTS netflix_shows_version (id smallint PRIMARY KEY CHECK (id = 1), version bigint NOT NULL, last_modified_at timestamp NOT NULL);
+
+INSERT INTO netflix_shows_version (id, version, last_modified_at) VALUES (1, 0, localtimestamp) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_netflix_shows_version() RETURNS trigger LANGUAGE plpgsql AS $$ BEGIN UPDATE netflix_shows_version SET version = version + 1, last_modified_at = localtimestamp WHERE id = 1; RETURN NULL; END $$;
+
+CREATE OR REPLACE TRIGGER tr_netflix_shows_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON netflix_shows FOR EACH STATEMENT EXECUTE FUNCTION bump_netflix_shows_version();
+
 --
 -- Data for Name: netflix_shows;
 --
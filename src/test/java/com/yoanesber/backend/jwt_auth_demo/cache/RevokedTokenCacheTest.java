@@ -0,0 +1,79 @@
+package com.yoanesber.backend.jwt_auth_demo.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RevokedTokenCacheTest {
+    private static final long EXPECTED_INSERTIONS = 16;
+
+    private MeterRegistry meterRegistry;
+    private RevokedTokenCache cache;
+
+    @BeforeEach
+    void createCache() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RevokedTokenCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "expectedInsertions", EXPECTED_INSERTIONS);
+        ReflectionTestUtils.setField(cache, "falsePositiveRate", 0.01);
+        cache.init();
+    }
+
+    @Test
+    void addsEachTokenOnce() {
+        long expiresAtMs = System.currentTimeMillis() + 60000;
+
+        assertTrue(cache.add("jti-1", expiresAtMs));
+        assertFalse(cache.add("jti-1", expiresAtMs));
+        assertTrue(cache.isRevoked("jti-1"));
+        assertFalse(cache.isRevoked("jti-2"));
+        assertFalse(cache.isRevoked(null));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void growsTheFilterWithoutLosingEntries() {
+        long expiresAtMs = System.currentTimeMillis() + 60000;
+        double initialBits = bloomBits();
+
+        // Well past the capacity the filter was first built for, so it is rebuilt several times
+        int count = (int) EXPECTED_INSERTIONS * 20;
+        for (int i = 0; i < count; i++) {
+            assertTrue(cache.add("jti-" + i, expiresAtMs));
+        }
+
+        assertTrue(bloomBits() > initialBits, "filter was not rebuilt");
+        assertEquals(count, cache.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(cache.isRevoked("jti-" + i), "jti-" + i);
+        }
+    }
+
+    @Test
+    void removesOnlyExpiredTokens() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            cache.add("expired-" + i, now - 1000);
+            cache.add("live-" + i, now + 60000);
+        }
+
+        assertEquals(10, cache.removeExpired());
+        assertEquals(10, cache.size());
+        for (int i = 0; i < 10; i++) {
+            assertFalse(cache.isRevoked("expired-" + i), "expired-" + i);
+            assertTrue(cache.isRevoked("live-" + i), "live-" + i);
+        }
+
+        assertEquals(0, cache.removeExpired());
+    }
+
+    private double bloomBits() {
+        return meterRegistry.get("revoked.tokens.bloom.bits").gauge().value();
+    }
+}
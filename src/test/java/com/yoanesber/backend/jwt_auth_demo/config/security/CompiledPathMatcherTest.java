@@ -0,0 +1,61 @@
+package com.yoanesber.backend.jwt_auth_demo.config.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+class CompiledPathMatcherTest {
+    private static final List<String> PATTERNS = List.of(
+        "/auth/login", "/auth/refresh-token", "/public/**", "/api/v?/docs/*.json", "/files/*/raw",
+        "/a/**/z", "/", "/static/**/*.css");
+
+    private static final List<String> PATHS = List.of(
+        "/", "", "/auth/login", "/auth/login/", "/auth/login-x", "/auth/logout", "/auth", "/public", "/public/",
+        "/public/a/b/c", "/publicity", "/api/v1/docs/openapi.json", "/api/v12/docs/openapi.json",
+        "/api/v1/docs/openapi.yaml", "/api/v1/docs/a/b.json", "/files/1/raw", "/files//raw", "/files/1/2/raw",
+        "/a/z", "/a/b/z", "/a/b/c/z", "/a/b/c", "/static/x.css", "/static/a/b/site.css", "/static/a/b/site.js",
+        "/api/v1/netflix-shows/1");
+
+    @Test
+    void matchesLikeAntPathMatcher() {
+        CompiledPathMatcher matcher = new CompiledPathMatcher(PATTERNS);
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+        for (String path : PATHS) {
+            String normalizedPath = path.isEmpty() ? "/" : path;
+            boolean expected = PATTERNS.stream().anyMatch(pattern -> antPathMatcher.match(pattern, normalizedPath));
+            assertEquals(expected, matcher.matches(path), path);
+        }
+    }
+
+    @Test
+    void trimsPatternsAndIgnoresBlankOnes() {
+        CompiledPathMatcher matcher = new CompiledPathMatcher(List.of(" /auth/login", "/auth/refresh-token ", " "));
+
+        assertEquals(List.of("/auth/login", "/auth/refresh-token"), matcher.getPatterns());
+        assertTrue(matcher.matches("/auth/refresh-token"));
+        assertFalse(new CompiledPathMatcher(List.of("")).matches("/"));
+    }
+
+    @Test
+    void matchesServletPathAndPathInfo() {
+        CompiledPathMatcher matcher = new CompiledPathMatcher(List.of("/auth/**"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth");
+        request.setPathInfo("/login");
+
+        assertTrue(matcher.matches(request));
+    }
+
+    @Test
+    void rejectsUnsupportedPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> new CompiledPathMatcher(List.of("auth/**")));
+        assertThrows(IllegalArgumentException.class, () -> new CompiledPathMatcher(List.of("/users/{id}")));
+    }
+}
@@ -0,0 +1,178 @@
+package com.yoanesber.backend.jwt_auth_demo.config.security.cors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import com.yoanesber.backend.jwt_auth_demo.cache.CorsDecisionCache;
+
+/**
+ * Runs each request through CorsFilter twice: once answered from a CorsDecision (the decision cache enabled)
+ * and once by CustomCorsProcessor (the decision cache disabled), and expects the same response.
+ */
+class CorsDecisionTest {
+    private static final String ALLOWED_ORIGIN = "http://localhost:8082";
+
+    @Test
+    void allowedOrigin() {
+        assertSameResponse(() -> request("GET", ALLOWED_ORIGIN), 200, true);
+    }
+
+    @Test
+    void rejectedOrigin() {
+        assertSameResponse(() -> request("GET", "http://evil.example"), 403, false);
+    }
+
+    @Test
+    void rejectedMethod() {
+        assertSameResponse(() -> request("DELETE", ALLOWED_ORIGIN), 403, false);
+    }
+
+    @Test
+    void preflightWithAllowedHeadersGetsCredentialsAndMaxAge() {
+        MockHttpServletResponse response = assertSameResponse(
+            () -> preflight(ALLOWED_ORIGIN, "POST", "Authorization, Content-Type"), 200, false);
+
+        assertEquals("true", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+        assertEquals("3600", response.getHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE));
+    }
+
+    @Test
+    void preflightWithDisallowedHeaders() {
+        assertSameResponse(() -> preflight(ALLOWED_ORIGIN, "POST", "X-Evil, X-Other"), 403, false);
+    }
+
+    @Test
+    void preflightWithSomeDisallowedHeadersAllowsOnlyTheOthers() {
+        MockHttpServletResponse response = assertSameResponse(
+            () -> preflight(ALLOWED_ORIGIN, "POST", "Authorization, X-Evil"), 200, false);
+
+        assertEquals("Authorization", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS));
+    }
+
+    @Test
+    void preflightWithDisallowedMethod() {
+        assertSameResponse(() -> preflight(ALLOWED_ORIGIN, "DELETE", "Authorization"), 403, false);
+    }
+
+    @Test
+    void preflightWithoutRequestedHeaders() {
+        assertSameResponse(() -> preflight(ALLOWED_ORIGIN, "GET", null), 200, false);
+    }
+
+    @Test
+    void sameOriginRequest() {
+        assertSameResponse(() -> request("GET", "http://localhost:8080"), 200, true);
+    }
+
+    @Test
+    void invalidScheme() {
+        assertSameResponse(() -> request("GET", "ftp://localhost:8082"), 403, false);
+    }
+
+    @Test
+    void unparsableOrigin() {
+        assertSameResponse(() -> request("GET", "http://local host"), 403, false);
+    }
+
+    // Run the request through both paths and compare status, headers and body (without the timestamp)
+    private MockHttpServletResponse assertSameResponse(Supplier<MockHttpServletRequest> request, int status,
+        boolean chained) {
+        CorsDecisionCache decisionCache = decisionCache(true);
+        Exchange cached = exchange(decisionCache, request.get());
+        Exchange processed = exchange(decisionCache(false), request.get());
+
+        assertEquals(1, decisionCache.size(), "the cached path was not taken");
+        assertEquals(status, processed.response().getStatus());
+        assertEquals(chained, processed.chained());
+
+        assertEquals(processed.response().getStatus(), cached.response().getStatus());
+        assertEquals(headers(processed.response()), headers(cached.response()));
+        assertEquals(body(processed.response()), body(cached.response()));
+        assertEquals(processed.chained(), cached.chained());
+        return cached.response();
+    }
+
+    private Exchange exchange(CorsDecisionCache decisionCache, MockHttpServletRequest request) {
+        CorsFilter filter = new CorsFilter(configSource(), new CustomCorsProcessor(), decisionCache, r -> false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return new Exchange(response, chain.getRequest() != null);
+    }
+
+    private static UrlBasedCorsConfigurationSource configSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of(ALLOWED_ORIGIN));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(List.of("ETag", "Location"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+
+    private static CorsDecisionCache decisionCache(boolean enabled) {
+        CorsDecisionCache decisionCache = new CorsDecisionCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(decisionCache, "enabled", enabled);
+        ReflectionTestUtils.setField(decisionCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(decisionCache, "maxKeyLength", 512);
+        decisionCache.init();
+        return decisionCache;
+    }
+
+    private static MockHttpServletRequest request(String method, String origin) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/netflix-shows");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        return request;
+    }
+
+    private static MockHttpServletRequest preflight(String origin, String method, String requestHeaders) {
+        MockHttpServletRequest request = request("OPTIONS", origin);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, method);
+        if (requestHeaders != null) {
+            request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, requestHeaders);
+        }
+        return request;
+    }
+
+    private static Map<String, List<String>> headers(MockHttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            headers.put(name, response.getHeaders(name));
+        }
+        return headers;
+    }
+
+    private static String body(MockHttpServletResponse response) {
+        try {
+            return response.getContentAsString().replaceAll("\"timestamp\":\"[^\"]*\"", "\"timestamp\":\"\"");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Exchange(MockHttpServletResponse response, boolean chained) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.yoanesber.backend.jwt_auth_demo.config.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtKeyMaterialTest {
+    @TempDir
+    Path keyDirectory;
+
+    @BeforeEach
+    void loadFirstKey() throws IOException {
+        ReflectionTestUtils.setField(JwtConfig.class, "staticKeyAlgorithm", "HMAC");
+        ReflectionTestUtils.setField(JwtConfig.class, "staticKeyDirectory", keyDirectory.toString());
+
+        writeSecret("2024-01");
+        activate("2024-01");
+        JwtKeyMaterial.reload();
+    }
+
+    @AfterEach
+    void clearConfig() {
+        ReflectionTestUtils.setField(JwtConfig.class, "staticKeyAlgorithm", null);
+        ReflectionTestUtils.setField(JwtConfig.class, "staticKeyDirectory", null);
+    }
+
+    @Test
+    void retiringKeyStillVerifiesAfterTheActiveKeyChanges() throws IOException {
+        String token = sign(JwtKeyMaterial.getStaticSigningKey(), true);
+
+        writeSecret("2024-02");
+        activate("2024-02");
+        JwtKeyMaterial.reload();
+
+        assertEquals("2024-02", JwtKeyMaterial.getStaticSigningKey().kid());
+        assertEquals("userone", subject(token));
+        assertEquals("userone", subject(sign(JwtKeyMaterial.getStaticSigningKey(), true)));
+    }
+
+    @Test
+    void unknownKidIsRejected() {
+        JwtKey signingKey = JwtKeyMaterial.getStaticSigningKey();
+        String token = Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, "2099-01")
+            .setSubject("userone")
+            .signWith(signingKey.signingKey(), signingKey.algorithm())
+            .compact();
+
+        assertThrows(SignatureException.class, () -> subject(token));
+    }
+
+    @Test
+    void tokenWithoutKidIsVerifiedWithTheSigningKey() throws IOException {
+        String legacyToken = sign(JwtKeyMaterial.getStaticSigningKey(), false);
+        assertEquals("userone", subject(legacyToken));
+
+        // Once another key signs, a token without a kid no longer verifies with the retired one
+        writeSecret("2024-02");
+        activate("2024-02");
+        JwtKeyMaterial.reload();
+
+        assertThrows(SignatureException.class, () -> subject(legacyToken));
+        assertEquals("userone", subject(sign(JwtKeyMaterial.getStaticSigningKey(), false)));
+    }
+
+    @Test
+    void failedReloadKeepsThePreviousKeyring() throws IOException {
+        String token = sign(JwtKeyMaterial.getStaticSigningKey(), true);
+        long failures = JwtKeyMaterial.getReloadFailureCount();
+        long reloads = JwtKeyMaterial.getReloadCount();
+
+        // The active key has no key file
+        activate("2099-01");
+        assertThrows(IllegalStateException.class, JwtKeyMaterial::reload);
+
+        assertEquals(failures + 1, JwtKeyMaterial.getReloadFailureCount());
+        assertEquals(reloads, JwtKeyMaterial.getReloadCount());
+        assertEquals("2024-01", JwtKeyMaterial.getStaticSigningKey().kid());
+        assertEquals("userone", subject(token));
+    }
+
+    private void writeSecret(String kid) throws IOException {
+        Files.writeString(keyDirectory.resolve(kid + ".secret"), "secret-of-key-" + kid + "-padded-to-256-bits");
+    }
+
+    private void activate(String kid) throws IOException {
+        Files.writeString(keyDirectory.resolve("active-kid"), kid);
+    }
+
+    private static String sign(JwtKey key, boolean withKid) {
+        JwtBuilder builder = Jwts.builder().setSubject("userone");
+        if (withKid) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, key.kid());
+        }
+        return builder.signWith(key.signingKey(), key.algorithm()).compact();
+    }
+
+    private static String subject(String token) {
+        return JwtKeyMaterial.getStaticJwtParser().parseClaimsJws(token).getBody().getSubject();
+    }
+}
@@ -0,0 +1,182 @@
+package com.yoanesber.backend.jwt_auth_demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import com.yoanesber.backend.jwt_auth_demo.dto.NetflixShowsSearchCriteriaDTO;
+
+class NetflixShowsSearchRepositoryImplTest {
+
+    @Test
+    void buildSearchQueryWithoutFilters() {
+        List<Object> parameters = new ArrayList<>();
+        String sql = NetflixShowsSearchRepositoryImpl.buildSearchQuery(
+            new NetflixShowsSearchCriteriaDTO("space", null, null, null, null), 20, 40, parameters);
+
+        assertTrue(sql.contains("n.search_vector @@ q"));
+        assertTrue(sql.contains("ORDER BY ts_rank_cd(n.search_vector, q) DESC, n.id"));
+        assertFalse(sql.contains("release_year ="));
+        assertEquals(List.of("space", 20, 40), parameters);
+        assertEquals(parameters.size(), sql.chars().filter(c -> c == '?').count());
+    }
+
+    @Test
+    void buildSearchQueryWithAllFilters() {
+        List<Object> parameters = new ArrayList<>();
+        String sql = NetflixShowsSearchRepositoryImpl.buildSearchQuery(
+            new NetflixShowsSearchCriteriaDTO("space", "MOVIE", 2020, "50%_off", "PG-13"), 10, 0, parameters);
+
+        assertTrue(sql.contains("n.\"type\" = ?"));
+        assertTrue(sql.contains("n.release_year = ?"));
+        assertTrue(sql.contains("n.country ILIKE ?"));
+        assertTrue(sql.contains("n.rating = ?"));
+        assertEquals(List.of("space", "MOVIE", 2020, "%50\\%\\_off%", "PG-13", 10, 0), parameters);
+        assertEquals(parameters.size(), sql.chars().filter(c -> c == '?').count());
+    }
+
+    /**
+     * Checks the plan chosen by PostgreSQL for the search query on a generated catalogue.
+     * Runs only when POSTGRES_TEST_URL (and optionally POSTGRES_TEST_USERNAME and POSTGRES_TEST_PASSWORD)
+     * point to a PostgreSQL database; everything is created in a temporary schema that is dropped afterwards.
+     */
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = ".+")
+    class QueryPlan {
+        private static final String SCHEMA = "netflix_shows_search_plan_test";
+        private static final int ROWS = 50000;
+
+        private Connection connection;
+
+        @BeforeAll
+        void createCatalogue() throws SQLException, IOException {
+            connection = DriverManager.getConnection(System.getenv("POSTGRES_TEST_URL"),
+                System.getenv("POSTGRES_TEST_USERNAME"), System.getenv("POSTGRES_TEST_PASSWORD"));
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+                statement.execute("CREATE SCHEMA " + SCHEMA);
+                statement.execute("SET search_path TO " + SCHEMA);
+                statement.execute("""
+                    CREATE TABLE netflix_shows (
+                        id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "type" varchar(7) NOT NULL,
+                        title text NOT NULL, director text, cast_members text, country varchar(100),
+                        date_added date NOT NULL, release_year integer NOT NULL, rating varchar(255),
+                        duration varchar(255), listed_in text, description text,
+                        is_deleted boolean NOT NULL DEFAULT false, created_by bigint NOT NULL,
+                        created_at timestamp with time zone NOT NULL DEFAULT now(), updated_by bigint,
+                        updated_at timestamp with time zone, deleted_by bigint, deleted_at timestamp with time zone,
+                        version bigint NOT NULL DEFAULT 0)
+                    """);
+
+                // The search column and index are created by the same statements as the application uses
+                for (String ddl : searchDdl()) {
+                    statement.execute(ddl);
+                }
+
+                // One show in a thousand mentions the rare term
+                statement.execute("""
+                    INSERT INTO netflix_shows ("type", title, director, cast_members, country, date_added,
+                        release_year, rating, duration, listed_in, description, is_deleted, created_by)
+                    SELECT CASE WHEN g % 2 = 0 THEN 'MOVIE' ELSE 'TV_SHOW' END, 'Show ' || g,
+                        'Director ' || (g % 500), 'Actor ' || (g % 1000),
+                        (ARRAY['United States', 'India', 'Japan', 'United Kingdom'])[g % 4 + 1], date '2021-01-01',
+                        1990 + g % 35, (ARRAY['PG-13', 'TV-MA', 'R', 'TV-14'])[g % 4 + 1], '90 min', 'Dramas',
+                        'A story about ' || md5(g::text) || CASE WHEN g % 1000 = 0 THEN ' zeppelin' ELSE '' END,
+                        g % 50 = 0, 1
+                    FROM generate_series(1, """ + ROWS + ") AS g");
+                statement.execute("ANALYZE netflix_shows");
+            }
+        }
+
+        @AfterAll
+        void dropCatalogue() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            } finally {
+                connection.close();
+            }
+        }
+
+        @Test
+        void searchUsesTheGinIndex() throws SQLException {
+            String plan = explain(new NetflixShowsSearchCriteriaDTO("zeppelin", null, null, null, null), 20, 0);
+
+            assertTrue(plan.contains("Bitmap Index Scan on ix_netflix_shows_search_vector"), plan);
+            assertFalse(plan.contains("Seq Scan"), plan);
+        }
+
+        @Test
+        void filteredSearchUsesTheGinIndex() throws SQLException {
+            String plan = explain(new NetflixShowsSearchCriteriaDTO("zeppelin", "MOVIE", 2020, "United", "PG-13"), 20, 0);
+
+            assertTrue(plan.contains("Bitmap Index Scan on ix_netflix_shows_search_vector"), plan);
+            assertFalse(plan.contains("Seq Scan"), plan);
+        }
+
+        @Test
+        void deepPageKeepsTheSamePlanShape() throws SQLException {
+            String firstPage = explain(new NetflixShowsSearchCriteriaDTO("zeppelin", null, null, null, null), 20, 0);
+            String deepPage = explain(new NetflixShowsSearchCriteriaDTO("zeppelin", null, null, null, null), 20, 5000);
+
+            assertEquals(nodeTypes(firstPage), nodeTypes(deepPage));
+        }
+
+        private String explain(NetflixShowsSearchCriteriaDTO criteria, int limit, int offset) throws SQLException {
+            List<Object> parameters = new ArrayList<>();
+            String sql = NetflixShowsSearchRepositoryImpl.buildSearchQuery(criteria, limit, offset, parameters);
+
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        }
+
+        // Plan node names without costs, e.g. "Limit", "Sort", "Bitmap Heap Scan on netflix_shows n"
+        private List<String> nodeTypes(String plan) {
+            return plan.lines()
+                .filter(line -> line.contains("(cost="))
+                .map(line -> line.substring(0, line.indexOf("(cost=")).replace("->", "").trim())
+                .toList();
+        }
+
+        // The statements of import.sql that create the search column and its index
+        private List<String> searchDdl() throws IOException {
+            try (InputStream inputStream = getClass().getResourceAsStream("/import.sql")) {
+                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> line.startsWith("ALTER TABLE netflix_shows ADD COLUMN IF NOT EXISTS search_vector") ||
+                        line.startsWith("CREATE INDEX IF NOT EXISTS ix_netflix_shows_search_vector"))
+                    .map(line -> line.substring(0, line.length() - 1))
+                    .toList();
+            }
+        }
+    }
+}
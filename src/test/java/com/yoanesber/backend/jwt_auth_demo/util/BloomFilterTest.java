@@ -0,0 +1,54 @@
+package com.yoanesber.backend.jwt_auth_demo.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+    private static final int EXPECTED_INSERTIONS = 10000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            filter.put("member-" + i);
+        }
+
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            assertTrue(filter.mightContain("member-" + i), "member-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTarget() {
+        BloomFilter filter = BloomFilter.create(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            filter.put("member-" + i);
+        }
+
+        int probes = 100000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Within a factor of two of the target either way; far below it would mean the filter is oversized
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < FALSE_POSITIVE_RATE * 2, "false-positive rate " + rate);
+        assertTrue(rate > FALSE_POSITIVE_RATE / 2, "false-positive rate " + rate);
+    }
+
+    @Test
+    void sizesTheFilterForTheTarget() {
+        BloomFilter filter = BloomFilter.create(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+
+        // About 9.6 bits and 7 hashes per value for a 1% rate
+        assertTrue(filter.getBitCount() >= 95850 && filter.getBitCount() < 95850 + 64, "bits " + filter.getBitCount());
+        assertEquals(7, filter.getHashCount());
+        assertEquals(0, filter.getBitCount() % 64);
+    }
+}